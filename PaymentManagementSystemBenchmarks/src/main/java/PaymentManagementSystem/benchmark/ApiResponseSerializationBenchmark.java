@@ -0,0 +1,55 @@
+package PaymentManagementSystem.benchmark;
+
+import PaymentManagementSystem.DTO.response.ApiResponse;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list payload returned by GET /api/payments, using the
+ * same ObjectMapper configuration Spring MVC builds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int payments;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<PaymentResponse>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<PaymentResponse> items = new ArrayList<>(payments);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < payments; i++) {
+            items.add(new PaymentResponse((long) i, new BigDecimal(100 + i).setScale(2),
+                    i % 2 == 0 ? PaymentType.OUTGOING : PaymentType.INCOMING,
+                    PaymentCategory.values()[i % PaymentCategory.values().length],
+                    PaymentStatus.values()[i % PaymentStatus.values().length],
+                    now.minusMinutes(i), "Creator " + (i % 25)));
+        }
+        response = ApiResponse.success("Payments retrieved successfully", items);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
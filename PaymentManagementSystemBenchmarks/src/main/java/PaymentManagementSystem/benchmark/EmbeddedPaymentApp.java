@@ -0,0 +1,103 @@
+package PaymentManagementSystem.benchmark;
+
+import PaymentManagementSystem.PaymentManagementSystem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the full application on a random port against an in-memory H2 database
+ * and offers a small authenticated HTTP client for driving it.
+ */
+public class EmbeddedPaymentApp implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private String token;
+
+    public EmbeddedPaymentApp(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        // Passed as command-line arguments so they take precedence over application.properties
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        this.context = new SpringApplicationBuilder(PaymentManagementSystem.class).run(args);
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    /** Registers an admin and keeps its bearer token for subsequent calls. */
+    public void loginAsAdmin() throws IOException, InterruptedException {
+        String email = "bench-" + UUID.randomUUID() + "@example.com";
+        send("POST", "/api/auth/register", Map.of(
+                "name", "Bench Admin", "email", email, "password", "benchPassword1", "role", "ADMIN"));
+        JsonNode login = objectMapper.readTree(send("POST", "/api/auth/login",
+                Map.of("email", email, "password", "benchPassword1")).body());
+        this.token = login.path("data").path("token").asText();
+    }
+
+    public long createPayment(String amount, String type, String category, String status)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", "/api/payments", Map.of(
+                "amount", amount, "paymentType", type, "category", category, "status", status));
+        return objectMapper.readTree(response.body()).path("data").path("id").asLong();
+    }
+
+    public HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send("GET", path, null);
+    }
+
+    public HttpResponse<String> send(String method, String path, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        HttpResponse<String> response = httpClient.send(request.method(method, publisher).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(method + " " + path + " failed with " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return response;
+    }
+
+    public String getBaseUrl() { return baseUrl; }
+
+    public String getToken() { return token; }
+
+    public ConfigurableApplicationContext getContext() { return context; }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
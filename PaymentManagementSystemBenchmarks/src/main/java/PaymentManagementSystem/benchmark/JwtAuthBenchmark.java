@@ -0,0 +1,75 @@
+package PaymentManagementSystem.benchmark;
+
+import PaymentManagementSystem.config.JwtTokenProvider;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT generation at login and per-request verification overhead in JwtAuthenticationFilter.
+ * <ul>
+ *     <li>{@code generateToken}: signing a token for a freshly authenticated user</li>
+ *     <li>{@code legacyValidateThenExtract}: the original flow, rebuilding the key and parser and
+ *     verifying the signature twice (validateToken, then getUsernameFromToken)</li>
+ *     <li>{@code parseOnce}: one verification with the prebuilt parser</li>
+ *     <li>{@code cachedValidateAndGetClaims}: the filter's current path, served from the verified-token cache</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthBenchmark {
+
+    static final String SECRET = "myVerySecureAndLongSecretKeyForJWTTokenGenerationThatIs256BitsLong1234567890";
+
+    private JwtTokenProvider tokenProvider;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 86_400_000, 10_000, Duration.ofMinutes(10));
+        User user = new User("Bench User", "bench@example.com", "password", UserRole.FINANCE_MANAGER);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token);
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String parseOnce() {
+        return tokenProvider.parseClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public String cachedValidateAndGetClaims() {
+        return tokenProvider.validateAndGetClaims(token).map(Claims::getSubject).orElse(null);
+    }
+}
@@ -0,0 +1,41 @@
+package PaymentManagementSystem.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost per login (matches) and per registration (encode). Strength 10 is the
+ * BCryptPasswordEncoder default used by SecurityConfig.passwordEncoder().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("benchPassword1");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("benchPassword1");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("benchPassword1", hash);
+    }
+}
@@ -0,0 +1,64 @@
+package PaymentManagementSystem.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end HTTP round trips through security, PaymentController, service and JPA on embedded H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentControllerBenchmark {
+
+    private static final String[] CATEGORIES = {"SALARY", "VENDOR", "INVOICE", "INVESTMENT"};
+
+    @Param({"1000"})
+    public int seededPayments;
+
+    private EmbeddedPaymentApp app;
+    private long[] paymentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        app = new EmbeddedPaymentApp(Map.of());
+        app.loginAsAdmin();
+        paymentIds = new long[seededPayments];
+        for (int i = 0; i < seededPayments; i++) {
+            paymentIds[i] = app.createPayment(String.valueOf(100 + i), i % 2 == 0 ? "OUTGOING" : "INCOMING",
+                    CATEGORIES[i % CATEGORIES.length], "PENDING");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public int getPaymentById() throws Exception {
+        long id = paymentIds[ThreadLocalRandom.current().nextInt(paymentIds.length)];
+        return app.get("/api/payments/" + id).body().length();
+    }
+
+    @Benchmark
+    public int getPaymentsPage() throws Exception {
+        return app.get("/api/payments/page?size=50&paymentType=OUTGOING").body().length();
+    }
+
+    @Benchmark
+    public int getAllPayments() throws Exception {
+        return app.get("/api/payments").body().length();
+    }
+
+    @Benchmark
+    public long createPayment() throws Exception {
+        return app.createPayment("250.00", "OUTGOING", "VENDOR", "PENDING");
+    }
+}
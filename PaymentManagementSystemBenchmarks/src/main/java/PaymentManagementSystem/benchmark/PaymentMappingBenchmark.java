@@ -0,0 +1,53 @@
+package PaymentManagementSystem.benchmark;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.service.impl.PaymentServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of PaymentServiceImpl.mapToResponse for an already-loaded entity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentMappingBenchmark {
+
+    private PaymentServiceImpl paymentService;
+    private MethodHandle mapToResponse;
+    private Payment payment;
+
+    @Setup
+    public void setUp() throws Exception {
+        paymentService = new PaymentServiceImpl();
+        mapToResponse = MethodHandles.privateLookupIn(PaymentServiceImpl.class, MethodHandles.lookup())
+                .findVirtual(PaymentServiceImpl.class, "mapToResponse",
+                        MethodType.methodType(PaymentResponse.class, Payment.class));
+
+        User user = new User("Bench User", "bench@example.com", "password", UserRole.FINANCE_MANAGER);
+        user.setId(1L);
+        payment = new Payment(new BigDecimal("1234.56"), PaymentType.OUTGOING, PaymentCategory.VENDOR,
+                PaymentStatus.PENDING, LocalDateTime.now(), user);
+        payment.setId(42L);
+    }
+
+    @Benchmark
+    public PaymentResponse mapToResponse() throws Throwable {
+        return (PaymentResponse) mapToResponse.invokeExact(paymentService, payment);
+    }
+}
@@ -0,0 +1,60 @@
+package PaymentManagementSystem.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test comparing request throughput on Tomcat platform threads against the virtual-threads profile.
+ * 256 concurrent clients against a deliberately small Tomcat pool make thread saturation visible;
+ * on a JVM older than 21 both variants run on platform threads and should match.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class ThreadingModeBenchmark {
+
+    private static final String[] CATEGORIES = {"SALARY", "VENDOR", "INVOICE", "INVESTMENT"};
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"32"})
+    public int tomcatMaxThreads;
+
+    private EmbeddedPaymentApp app;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        app = new EmbeddedPaymentApp(Map.of(
+                "spring.profiles.active", virtualThreads ? "virtual-threads" : "default",
+                "server.tomcat.threads.max", String.valueOf(tomcatMaxThreads),
+                "server.tomcat.accept-count", "1000",
+                "server.tomcat.max-connections", "2000"));
+        app.loginAsAdmin();
+        for (int i = 0; i < 500; i++) {
+            app.createPayment(String.valueOf(100 + i), i % 2 == 0 ? "OUTGOING" : "INCOMING",
+                    CATEGORIES[i % CATEGORIES.length], "PENDING");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public int getPaymentsPage() throws Exception {
+        return app.get("/api/payments/page?size=50&paymentType=OUTGOING").body().length();
+    }
+
+    @Benchmark
+    public int getPaymentSummary() throws Exception {
+        return app.get("/api/payments/summary?groupBy=CATEGORY").body().length();
+    }
+}
@@ -0,0 +1,47 @@
+package PaymentManagementSystem.DTO.request;
+
+import PaymentManagementSystem.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a payment listing ordered by (date desc, id desc).
+ * Encoded as an opaque URL-safe token so clients never build it themselves.
+ */
+public class PaymentCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime date;
+    private final Long id;
+
+    public PaymentCursor(LocalDateTime date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public static PaymentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new PaymentCursor(LocalDateTime.parse(raw.substring(0, split)),
+                    Long.valueOf(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getDate() { return date; }
+
+    public Long getId() { return id; }
+}
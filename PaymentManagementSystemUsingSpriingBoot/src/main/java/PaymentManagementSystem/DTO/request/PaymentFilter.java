@@ -0,0 +1,53 @@
+package PaymentManagementSystem.DTO.request;
+
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for payment listings, bound from query parameters
+ */
+public class PaymentFilter {
+    private PaymentStatus status;
+    private PaymentCategory category;
+    private PaymentType paymentType;
+    private Long createdBy;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime fromDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime toDate;
+
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    // Getters and Setters
+    public PaymentStatus getStatus() { return status; }
+    public void setStatus(PaymentStatus status) { this.status = status; }
+
+    public PaymentCategory getCategory() { return category; }
+    public void setCategory(PaymentCategory category) { this.category = category; }
+
+    public PaymentType getPaymentType() { return paymentType; }
+    public void setPaymentType(PaymentType paymentType) { this.paymentType = paymentType; }
+
+    public Long getCreatedBy() { return createdBy; }
+    public void setCreatedBy(Long createdBy) { this.createdBy = createdBy; }
+
+    public LocalDateTime getFromDate() { return fromDate; }
+    public void setFromDate(LocalDateTime fromDate) { this.fromDate = fromDate; }
+
+    public LocalDateTime getToDate() { return toDate; }
+    public void setToDate(LocalDateTime toDate) { this.toDate = toDate; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+}
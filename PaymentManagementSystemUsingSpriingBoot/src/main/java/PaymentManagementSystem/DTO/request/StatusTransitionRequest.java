@@ -0,0 +1,28 @@
+package PaymentManagementSystem.DTO.request;
+
+import PaymentManagementSystem.enums.PaymentStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class StatusTransitionRequest {
+    @NotNull(message = "Current status is required")
+    private PaymentStatus from;
+
+    @NotNull(message = "Target status is required")
+    private PaymentStatus to;
+
+    @NotEmpty(message = "At least one payment id is required")
+    private List<@NotNull Long> ids;
+
+    // Getters and Setters
+    public PaymentStatus getFrom() { return from; }
+    public void setFrom(PaymentStatus from) { this.from = from; }
+
+    public PaymentStatus getTo() { return to; }
+    public void setTo(PaymentStatus to) { this.to = to; }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
@@ -0,0 +1,36 @@
+package PaymentManagementSystem.DTO.response;
+
+public class BulkPaymentItemResult {
+    private int index;
+    private boolean success;
+    private Long id;
+    private String error;
+
+    public BulkPaymentItemResult(int index, boolean success, Long id, String error) {
+        this.index = index;
+        this.success = success;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BulkPaymentItemResult created(int index, Long id) {
+        return new BulkPaymentItemResult(index, true, id, null);
+    }
+
+    public static BulkPaymentItemResult rejected(int index, String error) {
+        return new BulkPaymentItemResult(index, false, null, error);
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
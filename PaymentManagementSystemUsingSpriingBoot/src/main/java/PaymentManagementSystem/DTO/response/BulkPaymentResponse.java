@@ -0,0 +1,30 @@
+package PaymentManagementSystem.DTO.response;
+
+import java.util.List;
+
+public class BulkPaymentResponse {
+    private int received;
+    private int created;
+    private int rejected;
+    private List<BulkPaymentItemResult> results;
+
+    public BulkPaymentResponse(int received, int created, int rejected, List<BulkPaymentItemResult> results) {
+        this.received = received;
+        this.created = created;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<BulkPaymentItemResult> getResults() { return results; }
+    public void setResults(List<BulkPaymentItemResult> results) { this.results = results; }
+}
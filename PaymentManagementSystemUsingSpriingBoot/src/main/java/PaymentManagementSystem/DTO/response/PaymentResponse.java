@@ -16,10 +16,19 @@ public class PaymentResponse {
     private PaymentStatus status;
     private LocalDateTime date;
     private String createdBy;
+    private Long version;
+
+    public PaymentResponse() {}
 
     public PaymentResponse(Long id, BigDecimal amount, PaymentType paymentType,
                            PaymentCategory category, PaymentStatus status,
                            LocalDateTime date, String createdBy) {
+        this(id, amount, paymentType, category, status, date, createdBy, null);
+    }
+
+    public PaymentResponse(Long id, BigDecimal amount, PaymentType paymentType,
+                           PaymentCategory category, PaymentStatus status,
+                           LocalDateTime date, String createdBy, Long version) {
         this.id = id;
         this.amount = amount;
         this.paymentType = paymentType;
@@ -27,6 +36,7 @@ public class PaymentResponse {
         this.status = status;
         this.date = date;
         this.createdBy = createdBy;
+        this.version = version;
     }
 
     // Getters and Setters
@@ -50,4 +60,7 @@ public class PaymentResponse {
 
     public String getCreatedBy() { return createdBy; }
     public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,30 @@
+package PaymentManagementSystem.DTO.response;
+
+import java.math.BigDecimal;
+
+public class PaymentSummaryGroup {
+    private String key;
+    private long count;
+    private BigDecimal totalAmount;
+    private BigDecimal averageAmount;
+
+    public PaymentSummaryGroup(String key, long count, BigDecimal totalAmount, BigDecimal averageAmount) {
+        this.key = key;
+        this.count = count;
+        this.totalAmount = totalAmount;
+        this.averageAmount = averageAmount;
+    }
+
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public BigDecimal getAverageAmount() { return averageAmount; }
+    public void setAverageAmount(BigDecimal averageAmount) { this.averageAmount = averageAmount; }
+}
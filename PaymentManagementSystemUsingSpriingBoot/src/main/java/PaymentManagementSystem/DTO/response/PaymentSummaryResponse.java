@@ -0,0 +1,57 @@
+package PaymentManagementSystem.DTO.response;
+
+import PaymentManagementSystem.enums.SummaryGroupBy;
+import PaymentManagementSystem.enums.SummarySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class PaymentSummaryResponse {
+    private SummaryGroupBy groupBy;
+    private SummarySource source;
+    private LocalDate from;
+    private LocalDate to;
+    private long totalCount;
+    private BigDecimal totalAmount;
+    private BigDecimal averageAmount;
+    private List<PaymentSummaryGroup> groups;
+
+    public PaymentSummaryResponse(SummaryGroupBy groupBy, SummarySource source, LocalDate from, LocalDate to,
+                                  long totalCount, BigDecimal totalAmount, BigDecimal averageAmount,
+                                  List<PaymentSummaryGroup> groups) {
+        this.groupBy = groupBy;
+        this.source = source;
+        this.from = from;
+        this.to = to;
+        this.totalCount = totalCount;
+        this.totalAmount = totalAmount;
+        this.averageAmount = averageAmount;
+        this.groups = groups;
+    }
+
+    // Getters and Setters
+    public SummaryGroupBy getGroupBy() { return groupBy; }
+    public void setGroupBy(SummaryGroupBy groupBy) { this.groupBy = groupBy; }
+
+    public SummarySource getSource() { return source; }
+    public void setSource(SummarySource source) { this.source = source; }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public long getTotalCount() { return totalCount; }
+    public void setTotalCount(long totalCount) { this.totalCount = totalCount; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public BigDecimal getAverageAmount() { return averageAmount; }
+    public void setAverageAmount(BigDecimal averageAmount) { this.averageAmount = averageAmount; }
+
+    public List<PaymentSummaryGroup> getGroups() { return groups; }
+    public void setGroups(List<PaymentSummaryGroup> groups) { this.groups = groups; }
+}
@@ -0,0 +1,43 @@
+package PaymentManagementSystem.DTO.response;
+
+import PaymentManagementSystem.enums.PaymentStatus;
+
+import java.util.List;
+
+public class StatusTransitionResponse {
+    private PaymentStatus from;
+    private PaymentStatus to;
+    private int requested;
+    private int transitioned;
+    private int skipped;
+    private List<StatusTransitionResult> results;
+
+    public StatusTransitionResponse(PaymentStatus from, PaymentStatus to, int requested, int transitioned,
+                                    int skipped, List<StatusTransitionResult> results) {
+        this.from = from;
+        this.to = to;
+        this.requested = requested;
+        this.transitioned = transitioned;
+        this.skipped = skipped;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public PaymentStatus getFrom() { return from; }
+    public void setFrom(PaymentStatus from) { this.from = from; }
+
+    public PaymentStatus getTo() { return to; }
+    public void setTo(PaymentStatus to) { this.to = to; }
+
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+
+    public int getTransitioned() { return transitioned; }
+    public void setTransitioned(int transitioned) { this.transitioned = transitioned; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public List<StatusTransitionResult> getResults() { return results; }
+    public void setResults(List<StatusTransitionResult> results) { this.results = results; }
+}
@@ -0,0 +1,38 @@
+package PaymentManagementSystem.DTO.response;
+
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.StatusTransitionOutcome;
+
+public class StatusTransitionResult {
+    private Long id;
+    private StatusTransitionOutcome outcome;
+    private PaymentStatus status;
+
+    public StatusTransitionResult(Long id, StatusTransitionOutcome outcome, PaymentStatus status) {
+        this.id = id;
+        this.outcome = outcome;
+        this.status = status;
+    }
+
+    public static StatusTransitionResult transitioned(Long id, PaymentStatus status) {
+        return new StatusTransitionResult(id, StatusTransitionOutcome.TRANSITIONED, status);
+    }
+
+    public static StatusTransitionResult mismatch(Long id, PaymentStatus currentStatus) {
+        return new StatusTransitionResult(id, StatusTransitionOutcome.STATUS_MISMATCH, currentStatus);
+    }
+
+    public static StatusTransitionResult notFound(Long id) {
+        return new StatusTransitionResult(id, StatusTransitionOutcome.NOT_FOUND, null);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public StatusTransitionOutcome getOutcome() { return outcome; }
+    public void setOutcome(StatusTransitionOutcome outcome) { this.outcome = outcome; }
+
+    public PaymentStatus getStatus() { return status; }
+    public void setStatus(PaymentStatus status) { this.status = status; }
+}
@@ -0,0 +1,13 @@
+package PaymentManagementSystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} on Spring Boot's applicationTaskExecutor, which runs on virtual threads
+ * when {@code spring.threads.virtual.enabled=true} and on the bounded spring.task.execution pool otherwise.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,38 @@
+package PaymentManagementSystem.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the Caffeine-backed response caches configured under spring.cache.*.
+ * The caching advice is ordered outside the transaction advice, so puts and evictions
+ * only happen once a write has committed. Calls that join a caller's transaction, such as
+ * status changes made by the outbox poller, get the same guarantee from the transaction-aware
+ * cache manager, which holds their puts and evictions until that transaction commits.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String PAYMENTS_CACHE = "payments";
+    public static final String USERS_CACHE = "users";
+
+    /** Wraps the auto-configured cache manager rather than replacing it, so spring.cache.* still applies. */
+    @Bean
+    public static BeanPostProcessor transactionAwareCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof TransactionAwareCacheManagerProxy)) {
+                    return new TransactionAwareCacheManagerProxy(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package PaymentManagementSystem.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-local token buckets. Each bucket is a single {@link AtomicLong} holding its theoretical
+ * arrival time (GCRA), so consuming a token is one CAS with no locks; the Caffeine map is striped
+ * and evicts buckets that have been idle long enough to have refilled anyway.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier clock;
+
+    public InMemoryRateLimitStore(long maxBuckets, Duration idleTtl) {
+        this(maxBuckets, idleTtl, System::nanoTime);
+    }
+
+    InMemoryRateLimitStore(long maxBuckets, Duration idleTtl, LongSupplier clock) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTtl)
+                .build();
+        this.clock = clock;
+    }
+
+    @Override
+    public long tryConsume(String key, RateLimitProperties.Bucket limit) {
+        long interval = limit.emissionIntervalNanos();
+        long burstTolerance = interval * (limit.getCapacity() - 1);
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = arrival.get();
+            long start = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long wait = start - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package PaymentManagementSystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Password hashing shared by the servlet and reactive security setups.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.security.bcrypt.pool-size:0}")
+    private int bcryptPoolSize;
+
+    @Value("${app.security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    @Value("${app.security.bcrypt.retry-after:1s}")
+    private Duration bcryptRetryAfter;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new PooledBCryptPasswordEncoder(bcryptStrength, bcryptPoolSize, bcryptQueueCapacity, bcryptRetryAfter);
+    }
+}
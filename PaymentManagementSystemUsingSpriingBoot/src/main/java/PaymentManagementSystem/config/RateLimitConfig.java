@@ -0,0 +1,13 @@
+package PaymentManagementSystem.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the per-user rate limits. Declare a {@link RateLimitStore} bean to share buckets between
+ * nodes; without one, SecurityConfig falls back to a node-local {@link InMemoryRateLimitStore}.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+}
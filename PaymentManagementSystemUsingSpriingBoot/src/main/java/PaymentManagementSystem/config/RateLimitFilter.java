@@ -0,0 +1,107 @@
+package PaymentManagementSystem.config;
+
+import PaymentManagementSystem.DTO.response.ApiResponse;
+import PaymentManagementSystem.enums.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles authenticated callers with a token bucket per user and traffic kind, sized by their role.
+ * Runs right after {@link JwtAuthenticationFilter} so rejected requests never reach the controllers
+ * or the database. Unauthenticated requests pass through untouched; the security rules deal with them.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitStore store;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter readRejections;
+    private final Counter writeRejections;
+
+    public RateLimitFilter(RateLimitStore store, RateLimitProperties properties, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.readRejections = rejectionCounter(meterRegistry, "read");
+        this.writeRejections = rejectionCounter(meterRegistry, "write");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String kind) {
+        return Counter.builder("http.server.requests.throttled")
+                .description("Requests rejected with 429 by the per-user rate limiter")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserRole role = authentication != null && authentication.isAuthenticated() ? roleOf(authentication) : null;
+        RateLimitProperties.RoleLimits limits = role != null ? properties.getRoles().get(role) : null;
+        if (!properties.isEnabled() || limits == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean read = isRead(request);
+        RateLimitProperties.Bucket bucket = read ? limits.getRead() : limits.getWrite();
+        if (bucket == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = authentication.getName() + '|' + role + '|' + (read ? "read" : "write");
+        long waitNanos = store.tryConsume(key, bucket);
+        if (waitNanos > 0) {
+            (read ? readRejections : writeRejections).increment();
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests, please retry after " + retryAfterSeconds + "s"));
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static UserRole roleOf(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                try {
+                    return UserRole.valueOf(name.substring("ROLE_".length()));
+                } catch (IllegalArgumentException ignored) {
+                    // not one of ours
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package PaymentManagementSystem.config;
+
+import PaymentManagementSystem.enums.UserRole;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Token bucket sizes per role, split into read (GET/HEAD/OPTIONS) and write traffic. Roles without an
+ * entry are not limited.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Validated
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private long maxBuckets = 100_000;
+    private Duration idleTtl = Duration.ofMinutes(10);
+    private Map<UserRole, @Valid RoleLimits> roles = new EnumMap<>(UserRole.class);
+
+    public static class RoleLimits {
+        @Valid
+        private Bucket read;
+        @Valid
+        private Bucket write;
+
+        // Getters and Setters
+        public Bucket getRead() { return read; }
+        public void setRead(Bucket read) { this.read = read; }
+
+        public Bucket getWrite() { return write; }
+        public void setWrite(Bucket write) { this.write = write; }
+    }
+
+    public static class Bucket {
+        private long capacity;
+        @Positive(message = "refill-per-second must be positive")
+        private double refillPerSecond;
+
+        public Bucket() {}
+
+        public Bucket(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        long emissionIntervalNanos() {
+            return Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        }
+
+        // Getters and Setters
+        public long getCapacity() { return capacity; }
+        public void setCapacity(long capacity) { this.capacity = capacity; }
+
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaxBuckets() { return maxBuckets; }
+    public void setMaxBuckets(long maxBuckets) { this.maxBuckets = maxBuckets; }
+
+    public Duration getIdleTtl() { return idleTtl; }
+    public void setIdleTtl(Duration idleTtl) { this.idleTtl = idleTtl; }
+
+    public Map<UserRole, RoleLimits> getRoles() { return roles; }
+    public void setRoles(Map<UserRole, RoleLimits> roles) { this.roles = roles; }
+}
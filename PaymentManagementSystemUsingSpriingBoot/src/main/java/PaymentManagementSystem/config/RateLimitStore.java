@@ -0,0 +1,15 @@
+package PaymentManagementSystem.config;
+
+/**
+ * Holds token buckets for {@link RateLimitFilter}. The in-memory store limits per node; a shared
+ * implementation (e.g. backed by Redis) can be declared as a bean to enforce one budget across nodes.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket identified by {@code key}, creating it full if absent.
+     *
+     * @return 0 if the request is allowed, otherwise the number of nanoseconds until a token is available
+     */
+    long tryConsume(String key, RateLimitProperties.Bucket limit);
+}
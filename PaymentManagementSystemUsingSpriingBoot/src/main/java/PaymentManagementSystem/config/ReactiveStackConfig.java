@@ -0,0 +1,38 @@
+package PaymentManagementSystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Infrastructure the reactive profile needs on top of Boot's defaults, which assume one stack or the other.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveStackConfig {
+
+    /** Tomcat is on the classpath for the servlet stack and would otherwise win; serve from Netty's event loops. */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Boot skips its JDBC DataSource once an R2DBC ConnectionFactory exists. Flyway, the JPA services
+     * and the scheduled jobs still need one, so it is built here from the usual spring.datasource.* properties.
+     * With read replicas enabled, ReplicaDataSourceConfig builds it instead.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,62 @@
+package PaymentManagementSystem.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Measures each replica's replay lag with the configured query and feeds it to the routing
+ * DataSource. A replica that cannot answer is treated as unavailable until a later check succeeds.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final List<JdbcTemplate> replicas;
+    private final String lagQuery;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, String lagQuery) {
+        this.routingDataSource = routingDataSource;
+        this.replicas = routingDataSource.getReplicas().stream().map(JdbcTemplate::new).toList();
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = i;
+            Gauge.builder("datasource.replica.lag", () -> {
+                        long lag = routingDataSource.getLagMillis(replica);
+                        return lag == ReplicaRoutingDataSource.UNAVAILABLE ? Double.NaN : lag;
+                    })
+                    .description("Replay lag last measured on the replica; NaN while it is unavailable")
+                    .baseUnit("milliseconds")
+                    .tag("replica", String.valueOf(replica))
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:1s}")
+    public void checkLag() {
+        for (int i = 0; i < replicas.size(); i++) {
+            long lag;
+            try {
+                Number measured = replicas.get(i).queryForObject(lagQuery, Number.class);
+                lag = measured == null ? 0 : Math.max(0, measured.longValue());
+            } catch (RuntimeException e) {
+                if (routingDataSource.getLagMillis(i) != ReplicaRoutingDataSource.UNAVAILABLE) {
+                    log.warn("Replica {} failed its lag check, reading from the primary: {}", i, e.getMessage());
+                }
+                lag = ReplicaRoutingDataSource.UNAVAILABLE;
+            }
+            routingDataSource.setLagMillis(i, lag);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package PaymentManagementSystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Hands out primary connections, except inside read-only transactions, which go round-robin to a
+ * replica whose last measured lag is within bounds. Reads fall back to the primary when every replica
+ * lags or is down, and while the current user's own recent write may not have replicated yet.
+ * Wrap it in a LazyConnectionDataSourceProxy: the transaction's read-only flag is only set after
+ * the transaction manager asks for a connection, so routing must wait for the first statement.
+ * Reads whose results are shared with other users, such as cache fills, run under {@link #onPrimary}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    /** Lag recorded for a replica that has not been measured yet or failed its last check. */
+    public static final long UNAVAILABLE = Long.MAX_VALUE;
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long maxLagMillis;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicLongArray lagMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long maxLagMillis,
+                                    ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLagMillis;
+        this.readYourWrites = readYourWrites;
+        this.lagMillis = new AtomicLongArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            lagMillis.set(i, UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Runs {@code work} with every connection it opens taken from the primary, read-only transactions
+     * included. Has no effect when replica routing is not configured.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PRIMARY_ONLY.get() != null) {
+            return primary.getConnection();
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWrite();
+            }
+            return primary.getConnection();
+        }
+        int replica = readYourWrites.isPinnedToPrimary() ? -1 : pickReplica();
+        if (replica < 0) {
+            return primary.getConnection();
+        }
+        try {
+            return replicas.get(replica).getConnection();
+        } catch (SQLException e) {
+            // Kept out of rotation until the next lag check reaches it again
+            lagMillis.set(replica, UNAVAILABLE);
+            log.warn("Replica {} refused a connection, reading from the primary: {}", replica, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing uses the credentials of each pool");
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public long getLagMillis(int replica) {
+        return lagMillis.get(replica);
+    }
+
+    public void setLagMillis(int replica, long lag) {
+        lagMillis.set(replica, lag);
+    }
+
+    /** Closes the pools this DataSource owns; called by the container on shutdown. */
+    public void close() {
+        closeQuietly(primary);
+        replicas.forEach(ReplicaRoutingDataSource::closeQuietly);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close pool {}: {}", dataSource, e.getMessage());
+            }
+        }
+    }
+
+    private int pickReplica() {
+        int count = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            int candidate = (start + i) % count;
+            if (lagMillis.get(candidate) <= maxLagMillis) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,183 @@
+package PaymentManagementSystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Records request and response body sizes and the number of JDBC statements each request issues
+ * (JPA and JdbcTemplate alike), tagged by method, URI template and status. Response bytes are counted as they stream through, not buffered.
+ * Statement counts cover the request thread only, so async handlers are recorded without one.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter statementCounter;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry, SqlStatementCounter statementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.statementCounter = statementCounter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        statementCounter.start();
+        int statements;
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            statements = statementCounter.stop();
+        }
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    record(request, response, countingResponse.getBytesWritten(), null);
+                }
+
+                @Override public void onTimeout(AsyncEvent event) {}
+                @Override public void onError(AsyncEvent event) {}
+                @Override public void onStartAsync(AsyncEvent event) {}
+            });
+        } else {
+            record(request, response, countingResponse.getBytesWritten(), statements);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long responseBytes,
+                        Integer statements) {
+        String method = request.getMethod();
+        String uri = uriTemplate(request, response.getStatus());
+        String status = String.valueOf(response.getStatus());
+        long requestBytes = request.getContentLengthLong();
+        if (requestBytes >= 0) {
+            summary("http.server.request.size", "bytes", method, uri, status).record(requestBytes);
+        }
+        summary("http.server.response.size", "bytes", method, uri, status).record(responseBytes);
+        if (statements != null) {
+            summary("http.server.requests.sql.statements", null, method, uri, status).record(statements);
+        }
+    }
+
+    private DistributionSummary summary(String name, String baseUnit, String method, String uri, String status) {
+        return DistributionSummary.builder(name)
+                .baseUnit(baseUnit)
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /** Same fallbacks as Boot's http.server.requests for requests no handler matched (404s, 401/429 rejections). */
+    private static String uriTemplate(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        if (status >= 300 && status < 400) {
+            return "REDIRECTION";
+        }
+        if (status == HttpServletResponse.SC_NOT_FOUND) {
+            return "NOT_FOUND";
+        }
+        String path = request.getRequestURI();
+        if (path == null || path.isEmpty() || "/".equals(path)) {
+            return "root";
+        }
+        return "UNKNOWN";
+    }
+
+    static class CountingResponseWrapper extends HttpServletResponseWrapper {
+        private long bytesWritten;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CountingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        long getBytesWritten() {
+            if (writer != null) {
+                writer.flush();
+            }
+            return bytesWritten;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytesWritten++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytesWritten += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                        Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+    }
+}
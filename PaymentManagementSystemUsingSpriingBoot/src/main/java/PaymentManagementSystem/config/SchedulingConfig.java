@@ -0,0 +1,12 @@
+package PaymentManagementSystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs such as the payment outbox poller.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,80 @@
+package PaymentManagementSystem.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the JDBC statements issued on the current thread between {@link #start()} and {@link #stop()}
+ * through a DataSource returned by {@link #wrap}, so Hibernate and JdbcTemplate reads are counted alike.
+ * A prepared or callable statement counts once when prepared; a plain statement counts once per execute.
+ * Statements issued outside a started window are not counted.
+ */
+public class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public DataSource wrap(DataSource target) {
+        return new CountingDataSource(target);
+    }
+
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /** Ends the window on this thread and returns the number of statements seen, or 0 if none was started. */
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    private static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    private static <T> T countingProxy(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (type == Connection.class ? name.equals("prepareStatement") || name.equals("prepareCall")
+                    : name.startsWith("execute")) {
+                increment();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (type == Connection.class && name.equals("createStatement")) {
+                return countingProxy(Statement.class, (Statement) result);
+            }
+            return result;
+        }));
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingProxy(Connection.class, super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countingProxy(Connection.class, super.getConnection(username, password));
+        }
+    }
+}
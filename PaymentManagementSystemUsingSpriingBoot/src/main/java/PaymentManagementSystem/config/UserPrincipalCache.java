@@ -0,0 +1,84 @@
+package PaymentManagementSystem.config;
+
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, expiring cache of authenticated principals keyed by email, so that
+ * JwtAuthenticationFilter does not query the users table on every request.
+ * Misses are loaded in a read-only transaction, which a read replica may serve.
+ * Writers to the users table must call {@link #invalidate(String)}.
+ */
+@Component
+public class UserPrincipalCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final TransactionOperations readOnlyTransaction;
+    private final Cache<String, User> cache;
+
+    @Autowired
+    public UserPrincipalCache(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                              @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${app.security.principal-cache.ttl:5m}") Duration ttl) {
+        this(userRepository, readOnly(transactionManager), maxSize, ttl);
+    }
+
+    UserPrincipalCache(UserRepository userRepository, long maxSize, Duration ttl) {
+        this(userRepository, TransactionOperations.withoutTransaction(), maxSize, ttl);
+    }
+
+    private UserPrincipalCache(UserRepository userRepository, TransactionOperations readOnlyTransaction,
+                               long maxSize, Duration ttl) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "user-principals");
+    }
+
+    public Optional<User> findByEmail(String email) {
+        // Misses for unknown emails are not cached; the loader returning null skips insertion
+        return Optional.ofNullable(cache.get(email, this::load));
+    }
+
+    private User load(String email) {
+        Optional<User> user = readOnlyTransaction.execute(status -> userRepository.findByEmail(email));
+        // A replica may not have replicated a just-registered user yet; confirm misses on the primary
+        return user.or(() -> userRepository.findByEmail(email)).orElse(null);
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
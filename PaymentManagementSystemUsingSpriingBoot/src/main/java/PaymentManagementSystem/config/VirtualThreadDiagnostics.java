@@ -0,0 +1,148 @@
+package PaymentManagementSystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports, once the application is ready, whether virtual threads are actually in effect and which
+ * parts of the JDBC path would pin them to a carrier thread. With the pinning monitor enabled it
+ * also streams the JFR jdk.VirtualThreadPinned event and logs every pin above the threshold.
+ */
+@Component
+public class VirtualThreadDiagnostics implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+
+    private static final int VIRTUAL_THREADS_JAVA = 21;
+    /** JEP 491: from Java 24 a virtual thread can unmount while holding a monitor. */
+    private static final int UNPINNED_SYNCHRONIZED_JAVA = 24;
+    /** pgjdbc moved its connection and stream locking from synchronized to ReentrantLock in 42.6.0. */
+    private static final int[] PGJDBC_LOCK_BASED_VERSION = {42, 6, 0};
+
+    private final DataSource dataSource;
+    private final boolean virtualThreadsEnabled;
+    private final boolean pinningMonitorEnabled;
+    private final Duration pinningThreshold;
+    private RecordingStream pinningEvents;
+
+    public VirtualThreadDiagnostics(DataSource dataSource,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+                                    @Value("${app.threads.pinning-monitor.enabled:false}") boolean pinningMonitorEnabled,
+                                    @Value("${app.threads.pinning-monitor.threshold:20ms}") Duration pinningThreshold) {
+        this.dataSource = dataSource;
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        this.pinningMonitorEnabled = pinningMonitorEnabled;
+        this.pinningThreshold = pinningThreshold;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        int javaVersion = Runtime.version().feature();
+        List<String> hazards = findPinningHazards(javaVersion);
+        if (hazards.isEmpty()) {
+            log.info("Virtual threads enabled on Java {}; no pinning hazards found in the JDBC path", javaVersion);
+        } else {
+            hazards.forEach(hazard -> log.warn("Virtual thread hazard: {}", hazard));
+        }
+        logPoolSizing();
+        if (pinningMonitorEnabled && javaVersion >= VIRTUAL_THREADS_JAVA) {
+            startPinningMonitor();
+        }
+    }
+
+    List<String> findPinningHazards(int javaVersion) {
+        List<String> hazards = new ArrayList<>();
+        if (javaVersion < VIRTUAL_THREADS_JAVA) {
+            hazards.add("spring.threads.virtual.enabled is set but Java " + javaVersion
+                    + " has no virtual threads; Tomcat, @Async and @Scheduled stay on platform threads");
+            return hazards;
+        }
+        if (javaVersion >= UNPINNED_SYNCHRONIZED_JAVA) {
+            return hazards;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String driver = metaData.getDriverName();
+            String version = metaData.getDriverVersion();
+            if (driver.contains("PostgreSQL") && compareVersions(version, PGJDBC_LOCK_BASED_VERSION) < 0) {
+                hazards.add("PostgreSQL JDBC driver " + version + " performs socket I/O inside synchronized blocks,"
+                        + " pinning a carrier for every query; upgrade to 42.6.0 or later");
+            } else if (driver.startsWith("H2")) {
+                hazards.add("H2 " + version + " synchronizes each statement on its session, pinning a carrier"
+                        + " while it runs; acceptable for tests, not for load");
+            }
+        } catch (SQLException e) {
+            hazards.add("Could not inspect the JDBC driver for pinning: " + e.getMessage());
+        }
+        return hazards;
+    }
+
+    private void logPoolSizing() {
+        try {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            // Requests are no longer capped by Tomcat's thread pool, so the connection pool becomes the limit
+            log.info("Hikari pool '{}' allows {} concurrent connections; further virtual threads wait up to {} ms"
+                            + " in getConnection. Size it to what the database can serve, not to request concurrency",
+                    hikari.getPoolName(), hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+        } catch (SQLException e) {
+            log.info("DataSource {} is not a Hikari pool; review its size for virtual-thread concurrency",
+                    dataSource.getClass().getName());
+        }
+    }
+
+    private void startPinningMonitor() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(pinningThreshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", event -> log.warn("Virtual thread pinned for {} ms at {}",
+                event.getDuration().toMillis(),
+                event.getStackTrace() == null ? "unknown" : event.getStackTrace().getFrames().stream()
+                        .limit(8)
+                        .map(VirtualThreadDiagnostics::describe)
+                        .collect(Collectors.joining(" <- "))));
+        stream.startAsync();
+        pinningEvents = stream;
+        log.info("Logging virtual thread pins longer than {} ms", pinningThreshold.toMillis());
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    static int compareVersions(String version, int[] other) {
+        String[] parts = version.split("[^0-9]+");
+        for (int i = 0; i < other.length; i++) {
+            int part = i < parts.length && !parts[i].isEmpty() ? Integer.parseInt(parts[i]) : 0;
+            if (part != other[i]) {
+                return Integer.compare(part, other[i]);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void destroy() {
+        if (pinningEvents != null) {
+            pinningEvents.close();
+        }
+    }
+}
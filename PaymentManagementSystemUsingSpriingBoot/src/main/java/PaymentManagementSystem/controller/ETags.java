@@ -0,0 +1,47 @@
+package PaymentManagementSystem.controller;
+
+import PaymentManagementSystem.exception.PaymentVersionMismatchException;
+import PaymentManagementSystem.repository.projection.PaymentCollectionVersion;
+
+import java.time.ZoneId;
+
+/**
+ * Entity-version ETags: {@code "<version>"} out, {@code If-Match} back in. Collections get a
+ * validator built from the {@link PaymentCollectionVersion}.
+ */
+final class ETags {
+
+    private ETags() {}
+
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    static String of(PaymentCollectionVersion version) {
+        return "\"c" + version.getVersion() + "\"";
+    }
+
+    /** Epoch millis of the collection's latest write. */
+    static long lastModified(PaymentCollectionVersion version) {
+        return version.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /** The version an If-Match header requires, or null when the header is absent or {@code *}. */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new PaymentVersionMismatchException("If-Match " + ifMatch + " does not name a payment version");
+        }
+    }
+}
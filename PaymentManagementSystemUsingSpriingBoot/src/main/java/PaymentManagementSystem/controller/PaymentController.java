@@ -1,53 +1,133 @@
 package PaymentManagementSystem.controller;
 
+import PaymentManagementSystem.DTO.request.PaymentFilter;
 import PaymentManagementSystem.DTO.request.PaymentRequest;
 import PaymentManagementSystem.DTO.response.ApiResponse;
+import PaymentManagementSystem.DTO.response.BulkPaymentResponse;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
 import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.enums.ExportFormat;
+import PaymentManagementSystem.exception.BulkRequestTooLargeException;
+import PaymentManagementSystem.repository.projection.PaymentCollectionVersion;
+import PaymentManagementSystem.service.PaymentIdempotencyService;
 import PaymentManagementSystem.service.PaymentService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/payments")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PaymentController {
 
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private PaymentIdempotencyService paymentIdempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.payments.bulk.max-items:10000}")
+    private int maxBulkItems = 10000;
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER')")
     public ResponseEntity<ApiResponse<PaymentResponse>> createPayment(
-            @Valid @RequestBody PaymentRequest paymentRequest, Authentication authentication) {
-        PaymentResponse paymentResponse = paymentService.createPayment(paymentRequest, authentication.getName());
+            @Valid @RequestBody PaymentRequest paymentRequest, Authentication authentication,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        PaymentResponse paymentResponse = idempotencyKey == null
+                ? paymentService.createPayment(paymentRequest, authentication.getName())
+                : paymentIdempotencyService.createPayment(idempotencyKey, paymentRequest, authentication.getName());
         return ResponseEntity.ok(ApiResponse.success("Payment created successfully", paymentResponse));
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER')")
+    public ResponseEntity<ApiResponse<BulkPaymentResponse>> createPayments(
+            HttpServletRequest request, Authentication authentication) throws IOException {
+        List<PaymentRequest> paymentRequests = readBulkRequests(new ServletServerHttpRequest(request));
+        BulkPaymentResponse bulkResponse = paymentService.createPayments(paymentRequests, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Bulk payment ingestion completed", bulkResponse));
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER', 'VIEWER')")
-    public ResponseEntity<ApiResponse<List<PaymentResponse>>> getAllPayments() {
+    public ResponseEntity<ApiResponse<List<PaymentResponse>>> getAllPayments(WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
         List<PaymentResponse> payments = paymentService.getAllPayments();
         return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", payments));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PaymentResponse>>> getPaymentsPage(
+            PaymentFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        CursorPageResponse<PaymentResponse> page = paymentService.getPaymentsPage(filter, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", page));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            PaymentFilter filter,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        StreamingResponseBody body = outputStream -> paymentService.exportPayments(filter, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payments." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER', 'VIEWER')")
     public ResponseEntity<ApiResponse<PaymentResponse>> getPaymentById(@PathVariable Long id) {
         PaymentResponse paymentResponse = paymentService.getPaymentById(id);
-        return ResponseEntity.ok(ApiResponse.success("Payment retrieved successfully", paymentResponse));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(paymentResponse.getVersion()))
+                .body(ApiResponse.success("Payment retrieved successfully", paymentResponse));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER')")
     public ResponseEntity<ApiResponse<PaymentResponse>> updatePayment(
-            @PathVariable Long id, @Valid @RequestBody PaymentRequest paymentRequest) {
-        PaymentResponse paymentResponse = paymentService.updatePayment(id, paymentRequest);
-        return ResponseEntity.ok(ApiResponse.success("Payment updated successfully", paymentResponse));
+            @PathVariable Long id, @Valid @RequestBody PaymentRequest paymentRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PaymentResponse paymentResponse = paymentService.updatePayment(id, paymentRequest, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(paymentResponse.getVersion()))
+                .body(ApiResponse.success("Payment updated successfully", paymentResponse));
     }
 
     @DeleteMapping("/{id}")
@@ -56,4 +136,44 @@ public class PaymentController {
         paymentService.deletePayment(id);
         return ResponseEntity.ok(ApiResponse.success("Payment deleted successfully", "Payment with ID " + id + " has been deleted"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the bulk array one element at a time and stops at max-items, so an oversized payload is
+     * rejected without being deserialized in full.
+     */
+    private List<PaymentRequest> readBulkRequests(ServletServerHttpRequest inputMessage) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(PaymentRequest.class);
+        List<PaymentRequest> paymentRequests = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(inputMessage.getBody())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new HttpMessageNotReadableException("Bulk payload must be a JSON array", inputMessage);
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new HttpMessageNotReadableException("Bulk payload ends before the array is closed", inputMessage);
+                }
+                if (paymentRequests.size() == maxBulkItems) {
+                    throw new BulkRequestTooLargeException("Bulk request exceeds the limit of " + maxBulkItems + " payments");
+                }
+                paymentRequests.add(reader.readValue(parser));
+            }
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+        return paymentRequests;
+    }
+
+    /**
+     * Answers polling with 304 from the collection version row, before the listing is loaded or serialized.
+     * Only conditional GETs read it; a poller starts with any If-Modified-Since and gets both validators on
+     * the 200. The version is read first, so a write racing the read only makes the next poll refetch.
+     */
+    private boolean notModified(WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                && request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            return false;
+        }
+        PaymentCollectionVersion version = paymentService.getCollectionVersion();
+        return request.checkNotModified(ETags.of(version), ETags.lastModified(version));
+    }
+}
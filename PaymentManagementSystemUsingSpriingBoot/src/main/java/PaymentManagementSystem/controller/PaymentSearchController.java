@@ -0,0 +1,32 @@
+package PaymentManagementSystem.controller;
+
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.DTO.response.ApiResponse;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.service.PaymentSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payments/search")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PaymentSearchController {
+
+    @Autowired
+    private PaymentSearchService paymentSearchService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PaymentResponse>>> search(
+            PaymentFilter filter,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPageResponse<PaymentResponse> page = paymentSearchService.search(filter, q, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", page));
+    }
+}
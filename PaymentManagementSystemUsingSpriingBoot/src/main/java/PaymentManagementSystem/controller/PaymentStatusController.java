@@ -0,0 +1,29 @@
+package PaymentManagementSystem.controller;
+
+import PaymentManagementSystem.DTO.request.StatusTransitionRequest;
+import PaymentManagementSystem.DTO.response.ApiResponse;
+import PaymentManagementSystem.DTO.response.StatusTransitionResponse;
+import PaymentManagementSystem.service.PaymentStatusService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payments/status-transitions")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PaymentStatusController {
+
+    @Autowired
+    private PaymentStatusService paymentStatusService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER')")
+    public ResponseEntity<ApiResponse<StatusTransitionResponse>> transition(
+            @Valid @RequestBody StatusTransitionRequest request) {
+        StatusTransitionResponse response = paymentStatusService.transition(request);
+        return ResponseEntity.ok(ApiResponse.success("Payment status transition completed", response));
+    }
+}
@@ -0,0 +1,43 @@
+package PaymentManagementSystem.controller;
+
+import PaymentManagementSystem.DTO.response.ApiResponse;
+import PaymentManagementSystem.DTO.response.PaymentSummaryResponse;
+import PaymentManagementSystem.enums.SummaryGroupBy;
+import PaymentManagementSystem.enums.SummarySource;
+import PaymentManagementSystem.service.PaymentSummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/payments/summary")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PaymentSummaryController {
+
+    @Autowired
+    private PaymentSummaryService paymentSummaryService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER', 'VIEWER')")
+    public ResponseEntity<ApiResponse<PaymentSummaryResponse>> getSummary(
+            @RequestParam(defaultValue = "PAYMENT_TYPE") SummaryGroupBy groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ROLLUP") SummarySource source) {
+        PaymentSummaryResponse summary = paymentSummaryService.getSummary(groupBy, from, to, source);
+        return ResponseEntity.ok(ApiResponse.success("Payment summary retrieved successfully", summary));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public CompletableFuture<ResponseEntity<ApiResponse<Integer>>> rebuildRollups() {
+        return paymentSummaryService.rebuildRollups()
+                .thenApply(rows -> ResponseEntity.ok(ApiResponse.success("Payment rollups rebuilt successfully", rows)));
+    }
+}
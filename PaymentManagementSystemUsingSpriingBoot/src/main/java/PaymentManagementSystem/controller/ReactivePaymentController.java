@@ -0,0 +1,59 @@
+package PaymentManagementSystem.controller;
+
+import PaymentManagementSystem.DTO.response.ApiResponse;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.exception.PaymentNotFoundException;
+import PaymentManagementSystem.repository.ReactivePaymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Payment reads for the reactive profile. Listings stream row by row from R2DBC to the client with
+ * backpressure, so memory stays flat however many rows match.
+ */
+@RestController
+@RequestMapping("/api/payments")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePaymentController {
+
+    @Autowired
+    private ReactivePaymentRepository paymentRepository;
+
+    @Value("${app.payments.reactive.max-rows:100000}")
+    private int maxRows;
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER', 'VIEWER')")
+    public Flux<PaymentResponse> streamPayments(
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) PaymentCategory category,
+            @RequestParam(required = false) PaymentType paymentType,
+            @RequestParam(required = false) Integer limit) {
+        int rows = limit == null ? maxRows : Math.max(0, Math.min(limit, maxRows));
+        return paymentRepository.streamResponses(nameOf(status), nameOf(category), nameOf(paymentType), rows);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'FINANCE_MANAGER', 'VIEWER')")
+    public Mono<ResponseEntity<ApiResponse<PaymentResponse>>> getPaymentById(@PathVariable Long id) {
+        return paymentRepository.findResponseById(id)
+                .switchIfEmpty(Mono.error(() -> new PaymentNotFoundException("Payment not found with id: " + id)))
+                .map(payment -> ResponseEntity.ok()
+                        .eTag(ETags.of(payment.getVersion()))
+                        .body(ApiResponse.success("Payment retrieved successfully", payment)));
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -16,8 +16,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "payments")
 public class Payment {
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, precision = 15, scale = 2)
@@ -42,6 +44,15 @@ public class Payment {
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
+    // Checked and bumped on every update, including the conditional JPQL updates in PaymentRepository
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Set on entity writes here and by the JPQL updates in PaymentRepository
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     // Constructors
     public Payment() {}
 
@@ -55,6 +66,12 @@ public class Payment {
         this.createdBy = createdBy;
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -76,4 +93,10 @@ public class Payment {
 
     public User getCreatedBy() { return createdBy; }
     public void setCreatedBy(User createdBy) { this.createdBy = createdBy; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
\ No newline at end of file
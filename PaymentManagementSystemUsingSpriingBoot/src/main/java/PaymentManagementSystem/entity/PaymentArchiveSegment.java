@@ -0,0 +1,61 @@
+package PaymentManagementSystem.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing one month of payments that was detached from the partitioned payments table
+ * and moved to archive storage.
+ */
+@Entity
+@Table(name = "payment_archive_segments")
+public class PaymentArchiveSegment {
+    @Id
+    @Column(length = 63)
+    private String partitionName;
+
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false, length = 1000)
+    private String location;
+
+    @Column(nullable = false)
+    private Long minId;
+
+    @Column(nullable = false)
+    private Long maxId;
+
+    @Column(nullable = false)
+    private Long rowCount;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Constructors
+    public PaymentArchiveSegment() {}
+
+    // Getters and Setters
+    public String getPartitionName() { return partitionName; }
+    public void setPartitionName(String partitionName) { this.partitionName = partitionName; }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Long getMinId() { return minId; }
+    public void setMinId(Long minId) { this.minId = minId; }
+
+    public Long getMaxId() { return maxId; }
+    public void setMaxId(Long maxId) { this.maxId = maxId; }
+
+    public Long getRowCount() { return rowCount; }
+    public void setRowCount(Long rowCount) { this.rowCount = rowCount; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+}
@@ -0,0 +1,41 @@
+package PaymentManagementSystem.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Entity holding pre-aggregated payment counts and totals per day and type/category/status,
+ * kept in step with every payment write so summaries never scan the payments table
+ */
+@Entity
+@Table(name = "payment_daily_rollups")
+public class PaymentDailyRollup {
+    @EmbeddedId
+    private PaymentRollupKey id;
+
+    @Column(nullable = false)
+    private long paymentCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    // Constructors
+    public PaymentDailyRollup() {}
+
+    public PaymentDailyRollup(PaymentRollupKey id, long paymentCount, BigDecimal totalAmount) {
+        this.id = id;
+        this.paymentCount = paymentCount;
+        this.totalAmount = totalAmount;
+    }
+
+    // Getters and Setters
+    public PaymentRollupKey getId() { return id; }
+    public void setId(PaymentRollupKey id) { this.id = id; }
+
+    public long getPaymentCount() { return paymentCount; }
+    public void setPaymentCount(long paymentCount) { this.paymentCount = paymentCount; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+}
@@ -0,0 +1,46 @@
+package PaymentManagementSystem.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an Idempotency-Key seen on payment creation, with the response to replay.
+ * The response is null while the first request with the key is still running.
+ */
+@Entity
+@Table(name = "payment_idempotency_keys")
+public class PaymentIdempotencyKey {
+    @EmbeddedId
+    private PaymentIdempotencyKeyId id;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    private Long paymentId;
+
+    @Column(columnDefinition = "text")
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public PaymentIdempotencyKey() {}
+
+    // Getters and Setters
+    public PaymentIdempotencyKeyId getId() { return id; }
+    public void setId(PaymentIdempotencyKeyId id) { this.id = id; }
+
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+
+    public Long getPaymentId() { return paymentId; }
+    public void setPaymentId(Long paymentId) { this.paymentId = paymentId; }
+
+    public String getResponse() { return response; }
+    public void setResponse(String response) { this.response = response; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
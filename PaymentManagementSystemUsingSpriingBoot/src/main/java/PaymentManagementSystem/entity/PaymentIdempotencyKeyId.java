@@ -0,0 +1,47 @@
+package PaymentManagementSystem.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite key of a stored idempotency key: the client-supplied key within the caller's scope
+ */
+@Embeddable
+public class PaymentIdempotencyKeyId implements Serializable {
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String key;
+
+    // Constructors
+    public PaymentIdempotencyKeyId() {}
+
+    public PaymentIdempotencyKeyId(String owner, String key) {
+        this.owner = owner;
+        this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PaymentIdempotencyKeyId)) return false;
+        PaymentIdempotencyKeyId that = (PaymentIdempotencyKeyId) o;
+        return Objects.equals(owner, that.owner) && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(owner, key);
+    }
+
+    // Getters and Setters
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+}
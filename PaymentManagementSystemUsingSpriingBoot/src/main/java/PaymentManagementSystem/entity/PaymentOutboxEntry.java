@@ -0,0 +1,86 @@
+package PaymentManagementSystem.entity;
+
+import PaymentManagementSystem.enums.PaymentType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a payment waiting to be picked up by the processing pipeline
+ */
+@Entity
+@Table(name = "payment_outbox")
+public class PaymentOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_outbox_seq")
+    @SequenceGenerator(name = "payment_outbox_seq", sequenceName = "payment_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentType paymentType;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Due time; while an entry is claimed this is the end of the claim's lease
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(length = 64)
+    private String claimToken;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Set once the entry ran out of attempts; it is then kept for inspection but never claimed again
+    private LocalDateTime deadLetteredAt;
+
+    // Constructors
+    public PaymentOutboxEntry() {}
+
+    public PaymentOutboxEntry(Long paymentId, PaymentType paymentType, LocalDateTime createdAt) {
+        this.paymentId = paymentId;
+        this.paymentType = paymentType;
+        this.availableAt = createdAt;
+        this.createdAt = createdAt;
+    }
+
+    public static PaymentOutboxEntry of(Payment payment, LocalDateTime now) {
+        return new PaymentOutboxEntry(payment.getId(), payment.getPaymentType(), now);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPaymentId() { return paymentId; }
+    public void setPaymentId(Long paymentId) { this.paymentId = paymentId; }
+
+    public PaymentType getPaymentType() { return paymentType; }
+    public void setPaymentType(PaymentType paymentType) { this.paymentType = paymentType; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getAvailableAt() { return availableAt; }
+    public void setAvailableAt(LocalDateTime availableAt) { this.availableAt = availableAt; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getDeadLetteredAt() { return deadLetteredAt; }
+    public void setDeadLetteredAt(LocalDateTime deadLetteredAt) { this.deadLetteredAt = deadLetteredAt; }
+}
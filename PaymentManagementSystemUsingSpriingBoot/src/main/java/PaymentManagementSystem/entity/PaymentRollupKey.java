@@ -0,0 +1,76 @@
+package PaymentManagementSystem.entity;
+
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Composite key of a daily payment rollup: one row per day and type/category/status combination
+ */
+@Embeddable
+public class PaymentRollupKey implements Serializable {
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentType paymentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus status;
+
+    // Constructors
+    public PaymentRollupKey() {}
+
+    public PaymentRollupKey(LocalDate day, PaymentType paymentType, PaymentCategory category, PaymentStatus status) {
+        this.day = day;
+        this.paymentType = paymentType;
+        this.category = category;
+        this.status = status;
+    }
+
+    public static PaymentRollupKey of(Payment payment) {
+        return new PaymentRollupKey(payment.getDate().toLocalDate(), payment.getPaymentType(),
+                payment.getCategory(), payment.getStatus());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PaymentRollupKey)) return false;
+        PaymentRollupKey that = (PaymentRollupKey) o;
+        return Objects.equals(day, that.day) && paymentType == that.paymentType
+                && category == that.category && status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, paymentType, category, status);
+    }
+
+    // Getters and Setters
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public PaymentType getPaymentType() { return paymentType; }
+    public void setPaymentType(PaymentType paymentType) { this.paymentType = paymentType; }
+
+    public PaymentCategory getCategory() { return category; }
+    public void setCategory(PaymentCategory category) { this.category = category; }
+
+    public PaymentStatus getStatus() { return status; }
+    public void setStatus(PaymentStatus status) { this.status = status; }
+}
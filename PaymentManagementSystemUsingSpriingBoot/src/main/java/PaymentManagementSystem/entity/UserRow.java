@@ -0,0 +1,35 @@
+package PaymentManagementSystem.entity;
+
+import PaymentManagementSystem.enums.UserRole;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC mapping of the users table, used by the reactive profile to resolve principals.
+ */
+@Table("users")
+public class UserRow {
+
+    @Id
+    private Long id;
+    private String name;
+    private String email;
+    private String password;
+    private UserRole role;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public UserRole getRole() { return role; }
+    public void setRole(UserRole role) { this.role = role; }
+}
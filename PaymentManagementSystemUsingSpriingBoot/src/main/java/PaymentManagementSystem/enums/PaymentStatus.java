@@ -6,5 +6,17 @@ package PaymentManagementSystem.enums;
 public enum PaymentStatus {
     PENDING,
     PROCESSING,
-    COMPLETED
-}
\ No newline at end of file
+    COMPLETED;
+
+    /**
+     * Legal moves: PENDING to PROCESSING or straight to COMPLETED, PROCESSING to COMPLETED or back
+     * to PENDING for a retry. COMPLETED is final.
+     */
+    public boolean canTransitionTo(PaymentStatus next) {
+        return switch (this) {
+            case PENDING -> next == PROCESSING || next == COMPLETED;
+            case PROCESSING -> next == COMPLETED || next == PENDING;
+            case COMPLETED -> false;
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package PaymentManagementSystem.enums;
+
+/**
+ * Enum representing what a bulk status transition did to one payment
+ */
+public enum StatusTransitionOutcome {
+    TRANSITIONED,
+    STATUS_MISMATCH,
+    NOT_FOUND
+}
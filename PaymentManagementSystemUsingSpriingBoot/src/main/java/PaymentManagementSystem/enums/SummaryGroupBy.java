@@ -0,0 +1,12 @@
+package PaymentManagementSystem.enums;
+
+/**
+ * Enum representing the dimension a payment summary is grouped by
+ */
+public enum SummaryGroupBy {
+    PAYMENT_TYPE,
+    CATEGORY,
+    STATUS,
+    DAY,
+    MONTH
+}
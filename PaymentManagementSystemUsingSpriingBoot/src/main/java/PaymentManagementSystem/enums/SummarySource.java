@@ -0,0 +1,11 @@
+package PaymentManagementSystem.enums;
+
+/**
+ * Enum representing where a payment summary is computed from: the maintained rollup table,
+ * a live GROUP BY over the payments table, or the in-memory ledger (all-time totals only)
+ */
+public enum SummarySource {
+    ROLLUP,
+    LIVE,
+    LEDGER
+}
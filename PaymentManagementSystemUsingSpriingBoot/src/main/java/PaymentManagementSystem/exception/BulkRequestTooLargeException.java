@@ -0,0 +1,7 @@
+package PaymentManagementSystem.exception;
+
+public class BulkRequestTooLargeException extends RuntimeException {
+    public BulkRequestTooLargeException(String message) {
+        super(message);
+    }
+}
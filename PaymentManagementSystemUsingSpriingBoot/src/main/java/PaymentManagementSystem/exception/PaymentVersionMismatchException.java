@@ -0,0 +1,7 @@
+package PaymentManagementSystem.exception;
+
+public class PaymentVersionMismatchException extends RuntimeException {
+    public PaymentVersionMismatchException(String message) {
+        super(message);
+    }
+}
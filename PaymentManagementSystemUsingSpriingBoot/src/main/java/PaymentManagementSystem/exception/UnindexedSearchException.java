@@ -0,0 +1,7 @@
+package PaymentManagementSystem.exception;
+
+public class UnindexedSearchException extends RuntimeException {
+    public UnindexedSearchException(String message) {
+        super(message);
+    }
+}
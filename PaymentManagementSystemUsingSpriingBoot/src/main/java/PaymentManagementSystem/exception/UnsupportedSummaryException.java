@@ -0,0 +1,7 @@
+package PaymentManagementSystem.exception;
+
+public class UnsupportedSummaryException extends RuntimeException {
+    public UnsupportedSummaryException(String message) {
+        super(message);
+    }
+}
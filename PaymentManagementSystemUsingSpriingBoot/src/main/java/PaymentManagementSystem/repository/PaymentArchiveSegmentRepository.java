@@ -0,0 +1,21 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.entity.PaymentArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentArchiveSegmentRepository extends JpaRepository<PaymentArchiveSegment, String> {
+
+    /** Segments whose id range covers the id, newest month first; usually at most one. */
+    @Query("select s from PaymentArchiveSegment s where s.minId <= :id and s.maxId >= :id order by s.periodStart desc")
+    List<PaymentArchiveSegment> findCovering(Long id);
+
+    @Query("select max(s.periodStart) from PaymentArchiveSegment s")
+    Optional<LocalDate> findLatestPeriodStart();
+}
@@ -0,0 +1,31 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.entity.PaymentIdempotencyKey;
+import PaymentManagementSystem.entity.PaymentIdempotencyKeyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface PaymentIdempotencyKeyRepository extends JpaRepository<PaymentIdempotencyKey, PaymentIdempotencyKeyId> {
+
+    /**
+     * Claims the key for this request; returns 0 if it already exists. A concurrent request with the
+     * same key blocks here until the first one commits or rolls back.
+     */
+    @Modifying
+    @Query(value = "insert into payment_idempotency_keys (owner, idempotency_key, request_hash, created_at) "
+            + "values (:owner, :key, :requestHash, :createdAt) on conflict do nothing", nativeQuery = true)
+    int reserve(String owner, String key, String requestHash, LocalDateTime createdAt);
+
+    @Modifying
+    @Query("update PaymentIdempotencyKey k set k.paymentId = :paymentId, k.response = :response where k.id = :id")
+    int complete(PaymentIdempotencyKeyId id, Long paymentId, String response);
+
+    @Modifying
+    @Query("delete from PaymentIdempotencyKey k where k.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
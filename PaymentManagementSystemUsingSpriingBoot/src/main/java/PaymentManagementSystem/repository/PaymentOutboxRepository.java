@@ -0,0 +1,46 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.entity.PaymentOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxEntry, Long> {
+
+    /** Locks up to {@code limit} due, live entries, skipping any another poller already holds. */
+    @Query(value = "select id from payment_outbox where dead_lettered_at is null and available_at <= :now "
+            + "order by available_at, id limit :limit for update skip locked", nativeQuery = true)
+    List<Long> lockDue(LocalDateTime now, int limit);
+
+    @Modifying
+    @Query("update PaymentOutboxEntry e set e.claimToken = :claimToken, e.availableAt = :leaseUntil, "
+            + "e.attempts = e.attempts + 1 where e.id in :ids")
+    int claim(Collection<Long> ids, String claimToken, LocalDateTime leaseUntil);
+
+    List<PaymentOutboxEntry> findByClaimToken(String claimToken);
+
+    /** Removes the entry if {@code claimToken} still owns it; returns 0 once the lease has passed to someone else. */
+    @Modifying
+    @Query("delete from PaymentOutboxEntry e where e.id = :id and e.claimToken = :claimToken")
+    int complete(Long id, String claimToken);
+
+    @Modifying
+    @Query("update PaymentOutboxEntry e set e.claimToken = null, e.availableAt = :retryAt, e.lastError = :error "
+            + "where e.id = :id and e.claimToken = :claimToken")
+    int release(Long id, String claimToken, LocalDateTime retryAt, String error);
+
+    /** Parks the entry for good if {@code claimToken} still owns it; pollers skip dead-lettered entries. */
+    @Modifying
+    @Query("update PaymentOutboxEntry e set e.claimToken = null, e.availableAt = :now, e.deadLetteredAt = :now, "
+            + "e.lastError = :error "
+            + "where e.id = :id and e.claimToken = :claimToken")
+    int deadLetter(Long id, String claimToken, LocalDateTime now, String error);
+
+    long countByDeadLetteredAtIsNotNull();
+}
@@ -0,0 +1,102 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.repository.projection.PaymentCollectionStamp;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * DDL and bulk reads for the monthly partitions of payments (see db/vendor/postgresql/V8). PostgreSQL only.
+ * Partition names are validated against {@link #PARTITION_NAME} before they are spliced into SQL.
+ */
+@Repository
+public class PaymentPartitionRepository {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("payments_p\\d{6}");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static YearMonth monthOf(String partitionName) {
+        checkName(partitionName);
+        String digits = partitionName.substring("payments_p".length());
+        return YearMonth.of(Integer.parseInt(digits.substring(0, 4)), Integer.parseInt(digits.substring(4)));
+    }
+
+    /** Monthly partitions currently attached to payments, oldest first. The default partition is not listed. */
+    public List<String> findAttachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i "
+                        + "join pg_class c on c.oid = i.inhrelid "
+                        + "join pg_class p on p.oid = i.inhparent "
+                        + "where p.relname = 'payments' and c.relname ~ '^payments_p[0-9]{6}$' "
+                        + "order by c.relname", String.class);
+    }
+
+    /** Creates the partition for the month if it does not exist yet; returns its name. */
+    public String createPartition(YearMonth month) {
+        return jdbcTemplate.queryForObject("select create_payment_partition(?)", String.class,
+                Date.valueOf(month.atDay(1)));
+    }
+
+    /** Rows of one partition with their creator's name, in id order. Close the stream. */
+    public Stream<PaymentResponse> streamPartition(String partitionName, int fetchSize) {
+        checkName(partitionName);
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+        return streaming.queryForStream(
+                "select p.id, p.amount, p.payment_type, p.category, p.status, p.date, u.name as created_by_name, p.version "
+                        + "from " + partitionName + " p join users u on u.id = p.created_by order by p.id",
+                PaymentViewRepository.RESPONSE_MAPPER);
+    }
+
+    /** Row count, version sum and latest write of one partition; used to check nothing changed while it was copied. */
+    public PaymentCollectionStamp stampPartition(String partitionName) {
+        checkName(partitionName);
+        return jdbcTemplate.queryForObject(
+                "select count(*), coalesce(sum(version), 0), max(updated_at) from " + partitionName,
+                (rs, rowNum) -> new PaymentCollectionStamp(rs.getLong(1), rs.getLong(2),
+                        rs.getObject(3, LocalDateTime.class)));
+    }
+
+    /** Detaches the partition; takes a short exclusive lock on payments. */
+    public void detachPartition(String partitionName) {
+        checkName(partitionName);
+        jdbcTemplate.execute("alter table payments detach partition " + partitionName);
+    }
+
+    /** Removes outbox entries of the partition's payments, which the delete trigger does not see on a detach. */
+    public int deleteOutboxEntries(String partitionName) {
+        checkName(partitionName);
+        return jdbcTemplate.update(
+                "delete from payment_outbox where payment_id in (select id from " + partitionName + ")");
+    }
+
+    /** Removes the partition's payments from the payment_view read model. */
+    public int deleteViewRows(String partitionName) {
+        checkName(partitionName);
+        return jdbcTemplate.update(
+                "delete from payment_view where id in (select id from " + partitionName + ")");
+    }
+
+    public void dropPartition(String partitionName) {
+        checkName(partitionName);
+        jdbcTemplate.execute("drop table " + partitionName);
+    }
+
+    private static void checkName(String partitionName) {
+        if (partitionName == null || !PARTITION_NAME.matcher(partitionName).matches()) {
+            throw new IllegalArgumentException("Not a payment partition: " + partitionName);
+        }
+    }
+}
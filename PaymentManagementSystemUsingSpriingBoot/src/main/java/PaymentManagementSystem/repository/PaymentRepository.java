@@ -1,15 +1,81 @@
 package PaymentManagementSystem.repository;
 
+import PaymentManagementSystem.DTO.response.PaymentResponse;
 import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.enums.PaymentCategory;
 import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.repository.projection.PaymentAggregateRow;
+import PaymentManagementSystem.repository.projection.PaymentIdStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
+import java.util.Optional;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
-}
\ No newline at end of file
+public interface PaymentRepository extends JpaRepository<Payment, Long>, PaymentRepositoryCustom {
+
+    @Query("select new PaymentManagementSystem.DTO.response.PaymentResponse("
+            + "p.id, p.amount, p.paymentType, p.category, p.status, p.date, u.name, p.version) "
+            + "from Payment p join p.createdBy u where p.id = :id")
+    Optional<PaymentResponse> findResponseById(Long id);
+
+    @Query("select new PaymentManagementSystem.repository.projection.PaymentAggregateRow("
+            + "cast(p.date as LocalDate), p.paymentType, p.category, p.status, count(p), sum(p.amount)) "
+            + "from Payment p where p.date >= :from and p.date < :to "
+            + "group by cast(p.date as LocalDate), p.paymentType, p.category, p.status")
+    List<PaymentAggregateRow> aggregateDaily(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Compare-and-set update in one statement. Returns 0 unless the row is still at {@code version} and
+     * still holds the previous values the caller derived its rollup deltas and transition check from.
+     */
+    @Modifying
+    @Query("update Payment p set p.amount = :amount, p.paymentType = :paymentType, p.category = :category, "
+            + "p.status = :status, p.version = p.version + 1, p.updatedAt = local datetime "
+            + "where p.id = :id and p.version = :version and p.amount = :previousAmount "
+            + "and p.paymentType = :previousType and p.category = :previousCategory and p.status = :previousStatus")
+    int updateIfUnchanged(Long id, Long version, BigDecimal previousAmount, PaymentType previousType,
+                          PaymentCategory previousCategory, PaymentStatus previousStatus,
+                          BigDecimal amount, PaymentType paymentType, PaymentCategory category, PaymentStatus status);
+
+    @Modifying
+    @Query("update Payment p set p.status = :status, p.version = p.version + 1, p.updatedAt = local datetime "
+            + "where p.id = :id and p.version = :version")
+    int updateStatusIfVersion(Long id, Long version, PaymentStatus status);
+
+    @Query("select new PaymentManagementSystem.repository.projection.PaymentIdStatus(p.id, p.status) "
+            + "from Payment p where p.id in :ids")
+    List<PaymentIdStatus> findStatuses(Collection<Long> ids);
+
+    /**
+     * Re-projects the payments into payment_view from their current rows, dropping ids that no longer
+     * exist. Callers hold the payments' row locks, so concurrent refreshes of one id cannot interleave.
+     * Native queries flush pending entity writes first.
+     */
+    default void refreshView(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        deleteFromView(ids);
+        insertIntoView(ids);
+    }
+
+    @Modifying
+    @Query(value = "delete from payment_view where id in :ids", nativeQuery = true)
+    int deleteFromView(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "insert into payment_view (id, amount, payment_type, category, status, date, created_by, "
+            + "created_by_name, version, updated_at) "
+            + "select p.id, p.amount, p.payment_type, p.category, p.status, p.date, p.created_by, u.name, "
+            + "p.version, p.updated_at from payments p join users u on u.id = p.created_by where p.id in :ids",
+            nativeQuery = true)
+    int insertIntoView(Collection<Long> ids);
+}
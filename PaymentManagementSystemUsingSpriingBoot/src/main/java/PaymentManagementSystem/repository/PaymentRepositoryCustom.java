@@ -0,0 +1,21 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.repository.projection.PaymentTransitionRow;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Payment statements that need dialect-specific SQL
+ */
+public interface PaymentRepositoryCustom {
+    /**
+     * Moves the payments among {@code ids} that are still in {@code from} to {@code to} in one UPDATE
+     * and returns the moved rows from that same statement.
+     */
+    List<PaymentTransitionRow> transitionStatus(Collection<Long> ids, PaymentStatus from, PaymentStatus to);
+
+    /** Planner statistics row estimate for payments; exact count where the database keeps none. */
+    long estimateRowCount();
+}
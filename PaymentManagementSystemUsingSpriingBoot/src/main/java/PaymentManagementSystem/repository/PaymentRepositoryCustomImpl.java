@@ -0,0 +1,85 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.repository.projection.PaymentTransitionRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public class PaymentRepositoryCustomImpl implements PaymentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String TRANSITION_UPDATE = "update payments set status = :to, version = version + 1, "
+            + "updated_at = localtimestamp where id in (:ids) and status = :from";
+    private static final String TRANSITION_COLUMNS = "id, date, payment_type, category, amount";
+
+    /** Whether the database is PostgreSQL; resolved from the dialect on first use. */
+    private volatile Boolean postgres;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PaymentTransitionRow> transitionStatus(Collection<Long> ids, PaymentStatus from, PaymentStatus to) {
+        // H2 has no RETURNING; its data change delta table gives the same single statement
+        String sql = isPostgres()
+                ? TRANSITION_UPDATE + " returning " + TRANSITION_COLUMNS
+                : "select " + TRANSITION_COLUMNS + " from final table (" + TRANSITION_UPDATE + ")";
+        entityManager.flush();
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("ids", ids)
+                .setParameter("from", from.name())
+                .setParameter("to", to.name())
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("date", LocalDateTime.class)
+                .addScalar("payment_type", String.class)
+                .addScalar("category", String.class)
+                .addScalar("amount", BigDecimal.class)
+                .getResultList();
+        // Like a bulk JPQL update, the statement bypasses the persistence context
+        entityManager.clear();
+        return rows.stream()
+                .map(row -> new PaymentTransitionRow((Long) row[0], (LocalDateTime) row[1],
+                        PaymentType.valueOf((String) row[2]), PaymentCategory.valueOf((String) row[3]),
+                        (BigDecimal) row[4]))
+                .toList();
+    }
+
+    @Override
+    public long estimateRowCount() {
+        if (isPostgres()) {
+            // Read from payment_view: it holds the same rows, and a partitioned parent keeps no estimate of its own
+            Object estimate = entityManager
+                    .createNativeQuery("select reltuples from pg_class where relname = 'payment_view'")
+                    .getSingleResult();
+            long rows = ((Number) estimate).longValue();
+            // PostgreSQL reports -1 until the table has been analyzed
+            if (rows >= 0) {
+                return rows;
+            }
+        }
+        return entityManager.createQuery("select count(p) from Payment p", Long.class).getSingleResult();
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = this.postgres;
+        if (postgres == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect();
+            postgres = dialect instanceof PostgreSQLDialect;
+            this.postgres = postgres;
+        }
+        return postgres;
+    }
+}
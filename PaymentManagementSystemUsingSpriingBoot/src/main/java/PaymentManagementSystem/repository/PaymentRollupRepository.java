@@ -0,0 +1,39 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.entity.PaymentDailyRollup;
+import PaymentManagementSystem.entity.PaymentRollupKey;
+import PaymentManagementSystem.repository.projection.PaymentAggregateRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PaymentRollupRepository extends JpaRepository<PaymentDailyRollup, PaymentRollupKey> {
+
+    /** Creates an empty rollup row if none exists yet; safe under concurrent writers. */
+    @Modifying
+    @Query(value = "insert into payment_daily_rollups "
+            + "(rollup_day, payment_type, category, status, payment_count, total_amount) "
+            + "values (:day, :paymentType, :category, :status, 0, 0) on conflict do nothing",
+            nativeQuery = true)
+    void insertIfAbsent(LocalDate day, String paymentType, String category, String status);
+
+    @Modifying
+    @Query("update PaymentDailyRollup r set r.paymentCount = r.paymentCount + :count, "
+            + "r.totalAmount = r.totalAmount + :amount where r.id = :key")
+    int increment(PaymentRollupKey key, long count, BigDecimal amount);
+
+    @Modifying
+    @Query("delete from PaymentDailyRollup r where r.id.day >= :from")
+    int deleteFrom(LocalDate from);
+
+    @Query("select new PaymentManagementSystem.repository.projection.PaymentAggregateRow("
+            + "r.id.day, r.id.paymentType, r.id.category, r.id.status, r.paymentCount, r.totalAmount) "
+            + "from PaymentDailyRollup r where r.id.day >= :from and r.id.day < :to and r.paymentCount > 0")
+    List<PaymentAggregateRow> findAggregates(LocalDate from, LocalDate to);
+}
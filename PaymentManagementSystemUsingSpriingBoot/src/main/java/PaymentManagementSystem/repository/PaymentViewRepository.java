@@ -0,0 +1,165 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.DTO.request.PaymentCursor;
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.repository.projection.PaymentAggregateRow;
+import PaymentManagementSystem.repository.projection.PaymentCollectionVersion;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Plain JDBC reads from the payment_view read model (V9). Rows map straight to {@link PaymentResponse};
+ * nothing here goes through Hibernate. The view is written by {@link PaymentRepository#refreshView}, and
+ * every transaction that writes it also bumps the collection version (V11) kept here.
+ */
+@Repository
+public class PaymentViewRepository {
+
+    static final RowMapper<PaymentResponse> RESPONSE_MAPPER = (rs, rowNum) -> new PaymentResponse(
+            rs.getLong("id"),
+            rs.getBigDecimal("amount"),
+            PaymentType.valueOf(rs.getString("payment_type")),
+            PaymentCategory.valueOf(rs.getString("category")),
+            PaymentStatus.valueOf(rs.getString("status")),
+            rs.getTimestamp("date").toLocalDateTime(),
+            rs.getString("created_by_name"),
+            rs.getLong("version"));
+
+    private static final String SELECT_RESPONSE = "select id, amount, payment_type, category, status, date, "
+            + "created_by_name, version from payment_view";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PaymentViewRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<PaymentResponse> findAll() {
+        return jdbcTemplate.query(SELECT_RESPONSE + " order by id", RESPONSE_MAPPER);
+    }
+
+    public Optional<PaymentResponse> findById(Long id) {
+        return jdbcTemplate.query(SELECT_RESPONSE + " where id = :id", new MapSqlParameterSource("id", id),
+                RESPONSE_MAPPER).stream().findFirst();
+    }
+
+    /**
+     * One keyset page, newest first.
+     * @param creatorIds creators to restrict to, or null for any creator
+     */
+    public List<PaymentResponse> findPage(PaymentFilter filter, PaymentCursor after, Collection<Long> creatorIds,
+                                          int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        String where = where(filter, after, creatorIds, params);
+        return jdbcTemplate.query(SELECT_RESPONSE + where + " order by date desc, id desc limit :limit",
+                params, RESPONSE_MAPPER);
+    }
+
+    /** All matching rows in id order, fetched {@code fetchSize} at a time. Close the stream. */
+    public Stream<PaymentResponse> stream(PaymentFilter filter, int fetchSize) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = where(filter, null, null, params);
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streaming.setFetchSize(fetchSize);
+        return new NamedParameterJdbcTemplate(streaming)
+                .queryForStream(SELECT_RESPONSE + where + " order by id", params, RESPONSE_MAPPER);
+    }
+
+    /** The listings' version row (V11); a primary-key read. */
+    public PaymentCollectionVersion collectionVersion() {
+        return jdbcTemplate.queryForObject(
+                "select version, updated_at from payment_collection_version where id = 1", Map.of(),
+                (rs, rowNum) -> new PaymentCollectionVersion(rs.getLong(1), rs.getObject(2, LocalDateTime.class)));
+    }
+
+    /**
+     * Marks the view changed by the current transaction. Takes the version row's lock until commit, so
+     * callers issue it as their last write; updated_at never moves back if instance clocks disagree.
+     */
+    public void bumpCollectionVersion(LocalDateTime now) {
+        jdbcTemplate.update("update payment_collection_version set version = version + 1, "
+                + "updated_at = greatest(updated_at, :now) where id = 1", new MapSqlParameterSource("now", now));
+    }
+
+    /** Count and total per type/category/status over all payments; rows carry no day. */
+    public List<PaymentAggregateRow> aggregateTotals() {
+        return jdbcTemplate.query("select payment_type, category, status, count(*), sum(amount) from payment_view "
+                        + "group by payment_type, category, status",
+                (rs, rowNum) -> new PaymentAggregateRow(null,
+                        PaymentType.valueOf(rs.getString(1)),
+                        PaymentCategory.valueOf(rs.getString(2)),
+                        PaymentStatus.valueOf(rs.getString(3)),
+                        rs.getLong(4),
+                        rs.getBigDecimal(5)));
+    }
+
+    /** Filter, creator and keyset predicates as SQL over the view's columns. */
+    private static String where(PaymentFilter filter, PaymentCursor after, Collection<Long> creatorIds,
+                                MapSqlParameterSource params) {
+        List<String> predicates = new ArrayList<>();
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                predicates.add("status = :status");
+                params.addValue("status", filter.getStatus().name());
+            }
+            if (filter.getCategory() != null) {
+                predicates.add("category = :category");
+                params.addValue("category", filter.getCategory().name());
+            }
+            if (filter.getPaymentType() != null) {
+                predicates.add("payment_type = :paymentType");
+                params.addValue("paymentType", filter.getPaymentType().name());
+            }
+            if (filter.getCreatedBy() != null) {
+                predicates.add("created_by = :createdBy");
+                params.addValue("createdBy", filter.getCreatedBy());
+            }
+            if (filter.getFromDate() != null) {
+                predicates.add("date >= :fromDate");
+                params.addValue("fromDate", filter.getFromDate());
+            }
+            if (filter.getToDate() != null) {
+                predicates.add("date < :toDate");
+                params.addValue("toDate", filter.getToDate());
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add("amount >= :minAmount");
+                params.addValue("minAmount", filter.getMinAmount());
+            }
+            if (filter.getMaxAmount() != null) {
+                predicates.add("amount <= :maxAmount");
+                params.addValue("maxAmount", filter.getMaxAmount());
+            }
+        }
+        if (creatorIds != null) {
+            if (creatorIds.isEmpty()) {
+                predicates.add("1 = 0");
+            } else {
+                predicates.add("created_by in (:creatorIds)");
+                params.addValue("creatorIds", creatorIds);
+            }
+        }
+        if (after != null) {
+            // The leading date bound gives the planner a range on the (…, date, id) indexes
+            predicates.add("date <= :afterDate and (date < :afterDate or id < :afterId)");
+            params.addValue("afterDate", after.getDate());
+            params.addValue("afterId", after.getId());
+        }
+        return predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+    }
+}
@@ -0,0 +1,29 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.PaymentRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC reads from the payment_view read model for the reactive profile. Filters are passed as enum
+ * names; a null filter matches all rows.
+ */
+@Repository
+public interface ReactivePaymentRepository extends ReactiveCrudRepository<PaymentRow, Long> {
+
+    @Query("select id, amount, payment_type, category, status, date, created_by_name as created_by, version "
+            + "from payment_view "
+            + "where (:status is null or status = :status) "
+            + "and (:category is null or category = :category) "
+            + "and (:paymentType is null or payment_type = :paymentType) "
+            + "order by date desc, id desc limit :limit")
+    Flux<PaymentResponse> streamResponses(String status, String category, String paymentType, int limit);
+
+    @Query("select id, amount, payment_type, category, status, date, created_by_name as created_by, version "
+            + "from payment_view where id = :id")
+    Mono<PaymentResponse> findResponseById(Long id);
+}
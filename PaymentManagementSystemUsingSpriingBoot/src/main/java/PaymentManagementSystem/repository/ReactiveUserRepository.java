@@ -0,0 +1,12 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.entity.UserRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Long> {
+
+    Mono<UserRow> findByEmail(String email);
+}
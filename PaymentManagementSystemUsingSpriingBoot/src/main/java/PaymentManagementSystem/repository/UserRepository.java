@@ -1,13 +1,21 @@
 package PaymentManagementSystem.repository;
 
 import PaymentManagementSystem.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /** Ids of users whose name or email contains {@code text} (LIKE-escaped with a backslash), case-insensitively. */
+    @Query("select u.id from User u where lower(u.name) like lower(concat('%', :text, '%')) escape '\\' "
+            + "or lower(u.email) like lower(concat('%', :text, '%')) escape '\\' order by u.id")
+    List<Long> findIdsMatching(String text, Pageable pageable);
 }
@@ -0,0 +1,42 @@
+package PaymentManagementSystem.repository.projection;
+
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Count and total of payments for one day and type/category/status combination
+ */
+public class PaymentAggregateRow {
+    private final LocalDate day;
+    private final PaymentType paymentType;
+    private final PaymentCategory category;
+    private final PaymentStatus status;
+    private final long count;
+    private final BigDecimal totalAmount;
+
+    public PaymentAggregateRow(LocalDate day, PaymentType paymentType, PaymentCategory category,
+                               PaymentStatus status, Long count, BigDecimal totalAmount) {
+        this.day = day;
+        this.paymentType = paymentType;
+        this.category = category;
+        this.status = status;
+        this.count = count == null ? 0 : count;
+        this.totalAmount = totalAmount == null ? BigDecimal.ZERO : totalAmount;
+    }
+
+    public LocalDate getDay() { return day; }
+
+    public PaymentType getPaymentType() { return paymentType; }
+
+    public PaymentCategory getCategory() { return category; }
+
+    public PaymentStatus getStatus() { return status; }
+
+    public long getCount() { return count; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+}
@@ -0,0 +1,26 @@
+package PaymentManagementSystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of a set of payments: row count, sum of row versions and latest write time.
+ * Inserts and deletes move the count and every update bumps a version, so the stamp changes even when
+ * a write commits with an older updated_at than one already visible.
+ */
+public class PaymentCollectionStamp {
+    private final long count;
+    private final long versionSum;
+    private final LocalDateTime lastModified;
+
+    public PaymentCollectionStamp(Long count, Long versionSum, LocalDateTime lastModified) {
+        this.count = count != null ? count : 0;
+        this.versionSum = versionSum != null ? versionSum : 0;
+        this.lastModified = lastModified;
+    }
+
+    public long getCount() { return count; }
+
+    public long getVersionSum() { return versionSum; }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+}
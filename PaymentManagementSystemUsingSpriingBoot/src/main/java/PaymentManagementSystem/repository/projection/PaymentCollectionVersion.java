@@ -0,0 +1,21 @@
+package PaymentManagementSystem.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * The payment listings' version (V11): bumped once by every transaction that changes payment_view,
+ * with the time of that write. One value covers every filter, so any write changes it.
+ */
+public class PaymentCollectionVersion {
+    private final long version;
+    private final LocalDateTime updatedAt;
+
+    public PaymentCollectionVersion(long version, LocalDateTime updatedAt) {
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() { return version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,20 @@
+package PaymentManagementSystem.repository.projection;
+
+import PaymentManagementSystem.enums.PaymentStatus;
+
+/**
+ * A payment id with its current status
+ */
+public class PaymentIdStatus {
+    private final Long id;
+    private final PaymentStatus status;
+
+    public PaymentIdStatus(Long id, PaymentStatus status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() { return id; }
+
+    public PaymentStatus getStatus() { return status; }
+}
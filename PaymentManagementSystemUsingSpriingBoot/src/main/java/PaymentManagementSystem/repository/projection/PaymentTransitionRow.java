@@ -0,0 +1,37 @@
+package PaymentManagementSystem.repository.projection;
+
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A payment moved by a bulk status transition, with the columns its rollup and outbox entries need
+ */
+public class PaymentTransitionRow {
+    private final Long id;
+    private final LocalDateTime date;
+    private final PaymentType paymentType;
+    private final PaymentCategory category;
+    private final BigDecimal amount;
+
+    public PaymentTransitionRow(Long id, LocalDateTime date, PaymentType paymentType,
+                                PaymentCategory category, BigDecimal amount) {
+        this.id = id;
+        this.date = date;
+        this.paymentType = paymentType;
+        this.category = category;
+        this.amount = amount;
+    }
+
+    public Long getId() { return id; }
+
+    public LocalDateTime getDate() { return date; }
+
+    public PaymentType getPaymentType() { return paymentType; }
+
+    public PaymentCategory getCategory() { return category; }
+
+    public BigDecimal getAmount() { return amount; }
+}
@@ -0,0 +1,16 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+
+import java.util.Optional;
+
+public interface PaymentArchiveService {
+    /** Reads an archived payment; empty if no archived month holds the id. */
+    Optional<PaymentResponse> findArchived(Long id);
+
+    /**
+     * Copies one monthly partition to the archive store, then detaches and drops it.
+     * @return the number of payments archived
+     */
+    long archivePartition(String partitionName);
+}
@@ -0,0 +1,17 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Cold storage for archived months of payments. Segments are written once, in id order, and only read by id.
+ */
+public interface PaymentArchiveStore {
+
+    /** Writes the rows as one segment, replacing any earlier copy with that name; returns its location. */
+    String write(String segmentName, Iterator<PaymentResponse> rows);
+
+    Optional<PaymentResponse> find(String location, Long id);
+}
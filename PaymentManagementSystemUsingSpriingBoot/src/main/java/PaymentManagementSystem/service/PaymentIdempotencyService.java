@@ -0,0 +1,9 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.request.PaymentRequest;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+
+public interface PaymentIdempotencyService {
+    PaymentResponse createPayment(String idempotencyKey, PaymentRequest paymentRequest, String userEmail);
+    int purgeExpiredKeys();
+}
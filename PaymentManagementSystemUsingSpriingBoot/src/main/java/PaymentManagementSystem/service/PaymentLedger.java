@@ -0,0 +1,29 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+
+import java.util.List;
+
+/**
+ * Running payment count and total per type/category/status, held in memory so dashboards can read
+ * them without a query. Fed with the same deltas as the daily rollups.
+ */
+public interface PaymentLedger {
+
+    /** Applies the deltas once the surrounding transaction commits, or at once if there is none. */
+    void apply(PaymentRollupDeltas deltas);
+
+    /**
+     * Count and total in cents of the payments matching every non-null argument.
+     * @return {@code {count, totalCents}}
+     */
+    long[] totals(PaymentType paymentType, PaymentCategory category, PaymentStatus status);
+
+    /** Replaces the ledger with fresh totals from the database. */
+    void reload();
+
+    /** Compares the ledger with the database; returns a description of each differing cell. */
+    List<String> findDrift();
+}
@@ -0,0 +1,13 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.enums.PaymentType;
+
+/**
+ * Moves a payment of one {@link PaymentType} forward when the outbox poller picks it up.
+ * Runs in the transaction that deletes the outbox entry, so a failure leaves the entry for a retry.
+ */
+public interface PaymentProcessor {
+    PaymentType getPaymentType();
+    void process(Payment payment);
+}
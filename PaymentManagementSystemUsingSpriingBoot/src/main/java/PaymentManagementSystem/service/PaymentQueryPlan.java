@@ -0,0 +1,23 @@
+package PaymentManagementSystem.service;
+
+/**
+ * The index a payment search is expected to use and the predicate that drives it.
+ */
+public class PaymentQueryPlan {
+    private final String index;
+    private final String drivingPredicate;
+
+    public PaymentQueryPlan(String index, String drivingPredicate) {
+        this.index = index;
+        this.drivingPredicate = drivingPredicate;
+    }
+
+    public String getIndex() { return index; }
+
+    public String getDrivingPredicate() { return drivingPredicate; }
+
+    @Override
+    public String toString() {
+        return index + " via " + drivingPredicate;
+    }
+}
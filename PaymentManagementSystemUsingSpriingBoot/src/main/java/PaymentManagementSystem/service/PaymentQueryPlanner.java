@@ -0,0 +1,19 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.exception.UnindexedSearchException;
+
+import java.util.Collection;
+
+/**
+ * Decides how a payment search will be served before it runs. Implementations may reject searches
+ * that no index can serve; the default one knows the composite indexes on payment_view (V9).
+ */
+public interface PaymentQueryPlanner {
+
+    /**
+     * @param creatorIds creators resolved from free-text search, or null when the search has no text
+     * @throws UnindexedSearchException if the search would scan too large a table
+     */
+    PaymentQueryPlan plan(PaymentFilter filter, Collection<Long> creatorIds);
+}
@@ -0,0 +1,65 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.PaymentRollupKey;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Net count and amount changes per rollup key collected over one unit of work.
+ * Keys iterate in a fixed order so concurrent writers lock rollup rows in the same sequence.
+ */
+public class PaymentRollupDeltas {
+    private static final Comparator<PaymentRollupKey> KEY_ORDER = Comparator
+            .comparing(PaymentRollupKey::getDay)
+            .thenComparing(PaymentRollupKey::getPaymentType)
+            .thenComparing(PaymentRollupKey::getCategory)
+            .thenComparing(PaymentRollupKey::getStatus);
+
+    private final Map<PaymentRollupKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+
+    public PaymentRollupDeltas add(Payment payment) {
+        return add(PaymentRollupKey.of(payment), payment.getAmount());
+    }
+
+    public PaymentRollupDeltas add(PaymentRollupKey key, BigDecimal amount) {
+        deltas.computeIfAbsent(key, k -> new Delta()).apply(1, amount);
+        return this;
+    }
+
+    public PaymentRollupDeltas remove(Payment payment) {
+        return remove(PaymentRollupKey.of(payment), payment.getAmount());
+    }
+
+    public PaymentRollupDeltas remove(PaymentRollupKey key, BigDecimal amount) {
+        deltas.computeIfAbsent(key, k -> new Delta()).apply(-1, amount.negate());
+        return this;
+    }
+
+    /** Entries whose changes cancelled out are dropped so they cost no statement. */
+    public Map<PaymentRollupKey, Delta> changes() {
+        deltas.values().removeIf(Delta::isZero);
+        return deltas;
+    }
+
+    public static class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        private void apply(long countChange, BigDecimal amountChange) {
+            count += countChange;
+            amount = amount.add(amountChange);
+        }
+
+        private boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+
+        public long getCount() { return count; }
+
+        public BigDecimal getAmount() { return amount; }
+    }
+}
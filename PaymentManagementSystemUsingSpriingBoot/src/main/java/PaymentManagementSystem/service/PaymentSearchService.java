@@ -0,0 +1,9 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+
+public interface PaymentSearchService {
+    CursorPageResponse<PaymentResponse> search(PaymentFilter filter, String text, String cursor, int size);
+}
@@ -1,12 +1,20 @@
 package PaymentManagementSystem.service;
 
+import PaymentManagementSystem.DTO.request.PaymentFilter;
 import PaymentManagementSystem.DTO.request.PaymentRequest;
+import PaymentManagementSystem.DTO.response.BulkPaymentResponse;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
 import PaymentManagementSystem.DTO.response.PaymentResponse;
 import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.enums.ExportFormat;
+import PaymentManagementSystem.enums.PaymentStatus;
 import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.projection.PaymentCollectionVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,8 +22,13 @@ import java.util.List;
 
 public interface PaymentService {
     PaymentResponse createPayment(PaymentRequest paymentRequest, String userEmail);
+    BulkPaymentResponse createPayments(List<PaymentRequest> paymentRequests, String userEmail);
     List<PaymentResponse> getAllPayments();
+    CursorPageResponse<PaymentResponse> getPaymentsPage(PaymentFilter filter, String cursor, int size);
+    PaymentCollectionVersion getCollectionVersion();
+    void exportPayments(PaymentFilter filter, ExportFormat format, OutputStream outputStream) throws IOException;
     PaymentResponse getPaymentById(Long id);
-    PaymentResponse updatePayment(Long id, PaymentRequest paymentRequest);
+    PaymentResponse updatePayment(Long id, PaymentRequest paymentRequest, Long expectedVersion);
+    PaymentResponse updatePaymentStatus(Long id, PaymentStatus status);
     void deletePayment(Long id);
 }
\ No newline at end of file
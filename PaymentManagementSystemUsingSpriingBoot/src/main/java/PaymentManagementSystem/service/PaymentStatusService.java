@@ -0,0 +1,8 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.request.StatusTransitionRequest;
+import PaymentManagementSystem.DTO.response.StatusTransitionResponse;
+
+public interface PaymentStatusService {
+    StatusTransitionResponse transition(StatusTransitionRequest request);
+}
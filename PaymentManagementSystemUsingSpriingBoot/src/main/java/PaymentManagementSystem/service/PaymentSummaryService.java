@@ -0,0 +1,14 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.response.PaymentSummaryResponse;
+import PaymentManagementSystem.enums.SummaryGroupBy;
+import PaymentManagementSystem.enums.SummarySource;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+public interface PaymentSummaryService {
+    PaymentSummaryResponse getSummary(SummaryGroupBy groupBy, LocalDate from, LocalDate to, SummarySource source);
+    void applyDeltas(PaymentRollupDeltas deltas);
+    CompletableFuture<Integer> rebuildRollups();
+}
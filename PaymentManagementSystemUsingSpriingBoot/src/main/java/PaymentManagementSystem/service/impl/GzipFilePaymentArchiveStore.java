@@ -0,0 +1,88 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.service.PaymentArchiveStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps each segment as a gzip-compressed file of JSON lines under {@code app.payments.archive.dir}.
+ * Rows are stored in id order, so a lookup stops reading as soon as it passes the id.
+ */
+@Component
+public class GzipFilePaymentArchiveStore implements PaymentArchiveStore {
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public GzipFilePaymentArchiveStore(@Value("${app.payments.archive.dir:./payment-archive}") Path directory,
+                                       ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String write(String segmentName, Iterator<PaymentResponse> rows) {
+        Path target = directory.resolve(segmentName + ".jsonl.gz");
+        try {
+            Files.createDirectories(directory);
+            // Written aside and moved into place, so a failed run never leaves a truncated segment
+            Path partial = Files.createTempFile(directory, segmentName, ".partial");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(partial)), StandardCharsets.UTF_8))) {
+                while (rows.hasNext()) {
+                    writer.write(objectMapper.writeValueAsString(rows.next()));
+                    writer.write('\n');
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write payment archive " + target, e);
+        }
+        return target.toString();
+    }
+
+    @Override
+    public Optional<PaymentResponse> find(String location, Long id) {
+        Path source = Path.of(location);
+        if (!Files.exists(source)) {
+            return Optional.empty();
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(source)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                PaymentResponse row = objectMapper.readValue(line, PaymentResponse.class);
+                if (row.getId().equals(id)) {
+                    return Optional.of(row);
+                }
+                if (row.getId() > id) {
+                    break;
+                }
+            }
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read payment archive " + source, e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.entity.PaymentRollupKey;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.repository.projection.PaymentAggregateRow;
+import PaymentManagementSystem.service.PaymentLedger;
+import PaymentManagementSystem.service.PaymentRollupDeltas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ledger cells are indexed by (type, category, status) ordinals and hold a count and a total in
+ * cents as {@link LongAdder}s, so concurrent writers update them without locks or contention and
+ * readers sum at most a few dozen cells. Loaded from payment_view before the web server starts.
+ * <p>
+ * Each node only sees its own writes; writes made elsewhere, archived months and a write committing
+ * during a reload show up as drift, which {@link PaymentLedgerConsistencyChecker} repairs.
+ */
+@Component
+public class InMemoryPaymentLedger implements PaymentLedger, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryPaymentLedger.class);
+
+    private static final PaymentType[] TYPES = PaymentType.values();
+    private static final PaymentCategory[] CATEGORIES = PaymentCategory.values();
+    private static final PaymentStatus[] STATUSES = PaymentStatus.values();
+    private static final int CELLS = TYPES.length * CATEGORIES.length * STATUSES.length;
+
+    private final PaymentViewRepository paymentViewRepository;
+
+    // Swapped whole on reload so readers never see a half-loaded ledger
+    private volatile Cells cells = new Cells();
+
+    public InMemoryPaymentLedger(PaymentViewRepository paymentViewRepository) {
+        this.paymentViewRepository = paymentViewRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    @Override
+    public void apply(PaymentRollupDeltas deltas) {
+        // Fold days away and convert to cents now; the deltas object is not ours to keep
+        long[] counts = new long[CELLS];
+        long[] cents = new long[CELLS];
+        for (Map.Entry<PaymentRollupKey, PaymentRollupDeltas.Delta> entry : deltas.changes().entrySet()) {
+            PaymentRollupKey key = entry.getKey();
+            int cell = cell(key.getPaymentType(), key.getCategory(), key.getStatus());
+            counts[cell] += entry.getValue().getCount();
+            cents[cell] += toCents(entry.getValue().getAmount());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cells.add(counts, cents);
+                }
+            });
+        } else {
+            cells.add(counts, cents);
+        }
+    }
+
+    @Override
+    public long[] totals(PaymentType paymentType, PaymentCategory category, PaymentStatus status) {
+        Cells current = cells;
+        long count = 0;
+        long cents = 0;
+        for (PaymentType t : TYPES) {
+            if (paymentType != null && t != paymentType) {
+                continue;
+            }
+            for (PaymentCategory c : CATEGORIES) {
+                if (category != null && c != category) {
+                    continue;
+                }
+                for (PaymentStatus s : STATUSES) {
+                    if (status != null && s != status) {
+                        continue;
+                    }
+                    int cell = cell(t, c, s);
+                    count += current.counts[cell].sum();
+                    cents += current.cents[cell].sum();
+                }
+            }
+        }
+        return new long[] {count, cents};
+    }
+
+    @Override
+    public void reload() {
+        Cells loaded = new Cells();
+        long[] counts = new long[CELLS];
+        long[] cents = new long[CELLS];
+        for (PaymentAggregateRow row : paymentViewRepository.aggregateTotals()) {
+            int cell = cell(row.getPaymentType(), row.getCategory(), row.getStatus());
+            counts[cell] = row.getCount();
+            cents[cell] = toCents(row.getTotalAmount());
+        }
+        loaded.add(counts, cents);
+        cells = loaded;
+        log.debug("Payment ledger loaded");
+    }
+
+    @Override
+    public List<String> findDrift() {
+        long[] expectedCounts = new long[CELLS];
+        long[] expectedCents = new long[CELLS];
+        for (PaymentAggregateRow row : paymentViewRepository.aggregateTotals()) {
+            int cell = cell(row.getPaymentType(), row.getCategory(), row.getStatus());
+            expectedCounts[cell] = row.getCount();
+            expectedCents[cell] = toCents(row.getTotalAmount());
+        }
+        Cells current = cells;
+        List<String> drift = new ArrayList<>();
+        for (int cell = 0; cell < CELLS; cell++) {
+            long count = current.counts[cell].sum();
+            long cents = current.cents[cell].sum();
+            if (count != expectedCounts[cell] || cents != expectedCents[cell]) {
+                drift.add(describe(cell) + ": ledger " + count + "/" + cents
+                        + " cents, database " + expectedCounts[cell] + "/" + expectedCents[cell] + " cents");
+            }
+        }
+        return drift;
+    }
+
+    private static int cell(PaymentType paymentType, PaymentCategory category, PaymentStatus status) {
+        return (paymentType.ordinal() * CATEGORIES.length + category.ordinal()) * STATUSES.length + status.ordinal();
+    }
+
+    private static String describe(int cell) {
+        PaymentStatus status = STATUSES[cell % STATUSES.length];
+        PaymentCategory category = CATEGORIES[cell / STATUSES.length % CATEGORIES.length];
+        PaymentType paymentType = TYPES[cell / STATUSES.length / CATEGORIES.length];
+        return paymentType + "/" + category + "/" + status;
+    }
+
+    /** Amounts are numeric(15, 2), so cents are exact and a long holds ~9e16 units of currency. */
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static final class Cells {
+        private final LongAdder[] counts = new LongAdder[CELLS];
+        private final LongAdder[] cents = new LongAdder[CELLS];
+
+        Cells() {
+            for (int cell = 0; cell < CELLS; cell++) {
+                counts[cell] = new LongAdder();
+                cents[cell] = new LongAdder();
+            }
+        }
+
+        void add(long[] countDeltas, long[] centDeltas) {
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (countDeltas[cell] != 0) {
+                    counts[cell].add(countDeltas[cell]);
+                }
+                if (centDeltas[cell] != 0) {
+                    cents[cell].add(centDeltas[cell]);
+                }
+            }
+        }
+    }
+}
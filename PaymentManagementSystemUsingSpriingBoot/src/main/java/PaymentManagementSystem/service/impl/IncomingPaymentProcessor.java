@@ -0,0 +1,31 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.service.PaymentProcessor;
+import PaymentManagementSystem.service.PaymentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Incoming funds have already arrived, so a pending incoming payment is settled directly.
+ */
+@Service
+public class IncomingPaymentProcessor implements PaymentProcessor {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Override
+    public PaymentType getPaymentType() {
+        return PaymentType.INCOMING;
+    }
+
+    @Override
+    public void process(Payment payment) {
+        if (payment.getStatus() == PaymentStatus.PENDING) {
+            paymentService.updatePaymentStatus(payment.getId(), PaymentStatus.COMPLETED);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.exception.UnindexedSearchException;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.service.PaymentQueryPlan;
+import PaymentManagementSystem.service.PaymentQueryPlanner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Matches a search against the (column, date, id) indexes, preferring the most selective equality
+ * predicate, then a date range, then the bare keyset order. Amount bounds are never indexed; on their
+ * own they force a scan, which is refused once the table outgrows {@code unindexed-row-limit}.
+ */
+@Component
+public class IndexAwarePaymentQueryPlanner implements PaymentQueryPlanner {
+
+    static final String DATE_INDEX = "idx_payment_view_date_id";
+
+    /** Equality-led indexes, most selective first (fewest rows per key). */
+    private static final List<EqualityIndex> EQUALITY_INDEXES = List.of(
+            new EqualityIndex("idx_payment_view_category_date_id", "category",
+                    PaymentCategory.values().length, filter -> filter.getCategory() != null),
+            new EqualityIndex("idx_payment_view_status_date_id", "status",
+                    PaymentStatus.values().length, filter -> filter.getStatus() != null),
+            new EqualityIndex("idx_payment_view_type_date_id", "payment_type",
+                    PaymentType.values().length, filter -> filter.getPaymentType() != null))
+            .stream()
+            .sorted(Comparator.comparingInt(EqualityIndex::getCardinality).reversed())
+            .toList();
+
+    private final PaymentRepository paymentRepository;
+    private final long unindexedRowLimit;
+    private final long statsTtlNanos;
+
+    private volatile long estimatedRows = -1;
+    private volatile long estimatedAt;
+
+    public IndexAwarePaymentQueryPlanner(PaymentRepository paymentRepository,
+                                         @Value("${app.payments.search.unindexed-row-limit:100000}") long unindexedRowLimit,
+                                         @Value("${app.payments.search.stats-ttl:1m}") Duration statsTtl) {
+        this.paymentRepository = paymentRepository;
+        this.unindexedRowLimit = unindexedRowLimit;
+        this.statsTtlNanos = statsTtl.toNanos();
+    }
+
+    @Override
+    public PaymentQueryPlan plan(PaymentFilter filter, Collection<Long> creatorIds) {
+        if (filter.getCreatedBy() != null) {
+            return new PaymentQueryPlan("idx_payment_view_created_by_date_id", "created_by =");
+        }
+        if (creatorIds != null) {
+            return new PaymentQueryPlan("idx_payment_view_created_by_date_id", "created_by in (" + creatorIds.size() + ")");
+        }
+        for (EqualityIndex index : EQUALITY_INDEXES) {
+            if (index.applies.test(filter)) {
+                return new PaymentQueryPlan(index.name, index.column + " =");
+            }
+        }
+        if (filter.getFromDate() != null || filter.getToDate() != null) {
+            return new PaymentQueryPlan(DATE_INDEX, "date range");
+        }
+        if (filter.getMinAmount() == null && filter.getMaxAmount() == null) {
+            // Walking the keyset order stops after one page
+            return new PaymentQueryPlan(DATE_INDEX, "keyset order");
+        }
+
+        long rows = estimatedRows();
+        if (rows > unindexedRowLimit) {
+            throw new UnindexedSearchException("This search would scan about " + rows + " payments; "
+                    + "narrow it with a status, category, type, creator or date range filter");
+        }
+        return new PaymentQueryPlan(DATE_INDEX, "keyset order with residual filter");
+    }
+
+    private long estimatedRows() {
+        long now = System.nanoTime();
+        if (estimatedRows < 0 || now - estimatedAt > statsTtlNanos) {
+            estimatedRows = paymentRepository.estimateRowCount();
+            estimatedAt = now;
+        }
+        return estimatedRows;
+    }
+
+    private static final class EqualityIndex {
+        private final String name;
+        private final String column;
+        private final int cardinality;
+        private final Predicate<PaymentFilter> applies;
+
+        EqualityIndex(String name, String column, int cardinality, Predicate<PaymentFilter> applies) {
+            this.name = name;
+            this.column = column;
+            this.cardinality = cardinality;
+            this.applies = applies;
+        }
+
+        int getCardinality() { return cardinality; }
+    }
+}
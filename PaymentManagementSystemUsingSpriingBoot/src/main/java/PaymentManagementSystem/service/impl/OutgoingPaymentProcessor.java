@@ -0,0 +1,32 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.service.PaymentProcessor;
+import PaymentManagementSystem.service.PaymentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hands a pending outgoing payment to the bank. It stays PROCESSING until the bank file
+ * confirms it through a bulk status transition.
+ */
+@Service
+public class OutgoingPaymentProcessor implements PaymentProcessor {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Override
+    public PaymentType getPaymentType() {
+        return PaymentType.OUTGOING;
+    }
+
+    @Override
+    public void process(Payment payment) {
+        if (payment.getStatus() == PaymentStatus.PENDING) {
+            paymentService.updatePaymentStatus(payment.getId(), PaymentStatus.PROCESSING);
+        }
+    }
+}
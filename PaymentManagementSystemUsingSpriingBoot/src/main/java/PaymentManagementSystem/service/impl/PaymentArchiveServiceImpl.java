@@ -0,0 +1,141 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.PaymentArchiveSegment;
+import PaymentManagementSystem.repository.PaymentArchiveSegmentRepository;
+import PaymentManagementSystem.repository.PaymentPartitionRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.repository.projection.PaymentCollectionStamp;
+import PaymentManagementSystem.service.PaymentArchiveService;
+import PaymentManagementSystem.service.PaymentArchiveStore;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Moves expired monthly partitions to the archive store and reads archived payments back by id.
+ * A partition is copied while still attached, from one snapshot, and only detached and dropped if its
+ * stamp is unchanged afterwards; a payment written in between leaves the partition for the next run.
+ */
+@Service
+@Timed(value = "payment.archive.service", histogram = true)
+public class PaymentArchiveServiceImpl implements PaymentArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentArchiveServiceImpl.class);
+
+    private final PaymentArchiveSegmentRepository segmentRepository;
+    private final PaymentPartitionRepository partitionRepository;
+    private final PaymentViewRepository viewRepository;
+    private final PaymentArchiveStore archiveStore;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public PaymentArchiveServiceImpl(PaymentArchiveSegmentRepository segmentRepository,
+                                     PaymentPartitionRepository partitionRepository,
+                                     PaymentViewRepository viewRepository,
+                                     PaymentArchiveStore archiveStore,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.payments.export.fetch-size:1000}") int fetchSize) {
+        this.segmentRepository = segmentRepository;
+        this.partitionRepository = partitionRepository;
+        this.viewRepository = viewRepository;
+        this.archiveStore = archiveStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        // Not read-only: the copy must come from the primary the partition is then dropped from
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Optional<PaymentResponse> findArchived(Long id) {
+        for (PaymentArchiveSegment segment : segmentRepository.findCovering(id)) {
+            Optional<PaymentResponse> payment = archiveStore.find(segment.getLocation(), id);
+            if (payment.isPresent()) {
+                return payment;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public long archivePartition(String partitionName) {
+        PaymentArchiveSegment segment = new PaymentArchiveSegment();
+        segment.setPartitionName(partitionName);
+        segment.setPeriodStart(PaymentPartitionRepository.monthOf(partitionName).atDay(1));
+
+        PaymentCollectionStamp copied = snapshotTransaction.execute(status -> {
+            PaymentCollectionStamp stamp = partitionRepository.stampPartition(partitionName);
+            if (stamp.getCount() > 0) {
+                try (Stream<PaymentResponse> rows = partitionRepository.streamPartition(partitionName, fetchSize)) {
+                    segment.setLocation(archiveStore.write(partitionName, new SegmentRange(segment, rows.iterator())));
+                }
+            }
+            return stamp;
+        });
+
+        return transactionTemplate.execute(status -> {
+            partitionRepository.detachPartition(partitionName);
+            PaymentCollectionStamp current = partitionRepository.stampPartition(partitionName);
+            if (!sameStamp(copied, current)) {
+                // Rolling back re-attaches the partition
+                throw new IllegalStateException("Partition " + partitionName + " changed while it was archived");
+            }
+            partitionRepository.deleteOutboxEntries(partitionName);
+            partitionRepository.deleteViewRows(partitionName);
+            viewRepository.bumpCollectionVersion(LocalDateTime.now());
+            if (current.getCount() > 0) {
+                segment.setRowCount(current.getCount());
+                segment.setArchivedAt(LocalDateTime.now());
+                segmentRepository.save(segment);
+            }
+            partitionRepository.dropPartition(partitionName);
+            log.info("Archived {} payments from {} to {}", current.getCount(), partitionName, segment.getLocation());
+            return current.getCount();
+        });
+    }
+
+    private static boolean sameStamp(PaymentCollectionStamp a, PaymentCollectionStamp b) {
+        return a.getCount() == b.getCount()
+                && a.getVersionSum() == b.getVersionSum()
+                && Objects.equals(a.getLastModified(), b.getLastModified());
+    }
+
+    /** Passes rows through to the store while recording the id range on the segment. */
+    private static final class SegmentRange implements Iterator<PaymentResponse> {
+        private final PaymentArchiveSegment segment;
+        private final Iterator<PaymentResponse> rows;
+
+        SegmentRange(PaymentArchiveSegment segment, Iterator<PaymentResponse> rows) {
+            this.segment = segment;
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public PaymentResponse next() {
+            PaymentResponse row = rows.next();
+            if (segment.getMinId() == null) {
+                segment.setMinId(row.getId());
+            }
+            segment.setMaxId(row.getId());
+            return row;
+        }
+    }
+}
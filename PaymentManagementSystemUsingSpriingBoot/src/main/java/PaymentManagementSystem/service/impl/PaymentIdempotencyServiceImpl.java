@@ -0,0 +1,149 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.DTO.request.PaymentRequest;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.PaymentIdempotencyKey;
+import PaymentManagementSystem.entity.PaymentIdempotencyKeyId;
+import PaymentManagementSystem.exception.IdempotencyKeyInProgressException;
+import PaymentManagementSystem.exception.IdempotencyKeyMismatchException;
+import PaymentManagementSystem.exception.InvalidIdempotencyKeyException;
+import PaymentManagementSystem.repository.PaymentIdempotencyKeyRepository;
+import PaymentManagementSystem.service.PaymentIdempotencyService;
+import PaymentManagementSystem.service.PaymentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Makes payment creation safe to retry. The first request with a key reserves it in the same
+ * transaction that creates the payment and stores the response; later requests with that key get the
+ * stored response back. Recently completed keys are also held in memory so most replays skip the database.
+ */
+@Service
+@Timed(value = "payment.idempotency.service", histogram = true)
+public class PaymentIdempotencyServiceImpl implements PaymentIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final PaymentService paymentService;
+    private final PaymentIdempotencyKeyRepository keyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Cache<PaymentIdempotencyKeyId, StoredResponse> recentKeys;
+
+    public PaymentIdempotencyServiceImpl(PaymentService paymentService,
+                                         PaymentIdempotencyKeyRepository keyRepository,
+                                         TransactionTemplate transactionTemplate,
+                                         ObjectMapper objectMapper,
+                                         @Value("${app.payments.idempotency.retention:24h}") Duration retention,
+                                         @Value("${app.payments.idempotency.cache-size:10000}") long cacheSize,
+                                         @Value("${app.payments.idempotency.cache-ttl:10m}") Duration cacheTtl) {
+        this.paymentService = paymentService;
+        this.keyRepository = keyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl.compareTo(retention) < 0 ? cacheTtl : retention)
+                .build();
+    }
+
+    @Override
+    public PaymentResponse createPayment(String idempotencyKey, PaymentRequest paymentRequest, String userEmail) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        PaymentIdempotencyKeyId id = new PaymentIdempotencyKeyId(userEmail, idempotencyKey);
+        String requestHash = requestHash(paymentRequest);
+
+        StoredResponse stored = recentKeys.getIfPresent(id);
+        if (stored == null) {
+            stored = transactionTemplate.execute(status -> createOnce(id, requestHash, paymentRequest, userEmail));
+            // Only committed results are remembered
+            recentKeys.put(id, stored);
+        }
+        if (!stored.requestHash.equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(
+                    "Idempotency-Key " + idempotencyKey + " was already used with a different payment request");
+        }
+        return stored.response;
+    }
+
+    private StoredResponse createOnce(PaymentIdempotencyKeyId id, String requestHash,
+                                      PaymentRequest paymentRequest, String userEmail) {
+        if (keyRepository.reserve(id.getOwner(), id.getKey(), requestHash, LocalDateTime.now()) == 1) {
+            PaymentResponse response = paymentService.createPayment(paymentRequest, userEmail);
+            keyRepository.complete(id, response.getId(), toJson(response));
+            return new StoredResponse(requestHash, response);
+        }
+        PaymentIdempotencyKey existing = keyRepository.findById(id)
+                .filter(key -> key.getResponse() != null)
+                .orElseThrow(() -> new IdempotencyKeyInProgressException(
+                        "A request with Idempotency-Key " + id.getKey() + " is still in progress"));
+        return new StoredResponse(existing.getRequestHash(), fromJson(existing.getResponse()));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.payments.idempotency.purge-interval:1h}")
+    public int purgeExpiredKeys() {
+        Integer purged = transactionTemplate.execute(
+                status -> keyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+        return purged == null ? 0 : purged;
+    }
+
+    /** Fingerprint of the fields that define the payment, so 100.0 and 100.00 count as the same request. */
+    private static String requestHash(PaymentRequest paymentRequest) {
+        String canonical = (paymentRequest.getAmount() == null ? "" : paymentRequest.getAmount().stripTrailingZeros().toPlainString())
+                + "|" + paymentRequest.getPaymentType()
+                + "|" + paymentRequest.getCategory()
+                + "|" + paymentRequest.getStatus();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String toJson(PaymentResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store payment response", e);
+        }
+    }
+
+    private PaymentResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, PaymentResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored payment response", e);
+        }
+    }
+
+    private static final class StoredResponse {
+        private final String requestHash;
+        private final PaymentResponse response;
+
+        private StoredResponse(String requestHash, PaymentResponse response) {
+            this.requestHash = requestHash;
+            this.response = response;
+        }
+    }
+}
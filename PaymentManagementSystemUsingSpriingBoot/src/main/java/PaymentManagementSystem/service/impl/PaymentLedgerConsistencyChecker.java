@@ -0,0 +1,56 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.service.PaymentLedger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically compares the in-memory ledger with payment_view and reloads it when they disagree.
+ * A cell must show up as drifted on two scheduled checks in a row, so a write caught between its
+ * commit and its after-commit ledger update is not mistaken for drift.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payments.ledger.check-enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentLedgerConsistencyChecker {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentLedgerConsistencyChecker.class);
+
+    private final PaymentLedger paymentLedger;
+    private final Counter repairs;
+    private Set<String> previouslyDrifted = Set.of();
+
+    public PaymentLedgerConsistencyChecker(PaymentLedger paymentLedger, MeterRegistry meterRegistry) {
+        this.paymentLedger = paymentLedger;
+        this.repairs = Counter.builder("payment.ledger.repairs")
+                .description("Ledger reloads after drift from the database was confirmed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.ledger.check-interval:1m}",
+            initialDelayString = "${app.payments.ledger.check-interval:1m}")
+    public void check() {
+        List<String> drift = paymentLedger.findDrift();
+        // Compared by cell: under load both sides keep moving, so the reported totals rarely repeat
+        Set<String> drifted = drift.stream()
+                .map(entry -> entry.substring(0, entry.indexOf(':')))
+                .collect(Collectors.toSet());
+        boolean confirmed = !Collections.disjoint(drifted, previouslyDrifted);
+        previouslyDrifted = confirmed ? Set.of() : drifted;
+        if (!confirmed) {
+            return;
+        }
+        log.warn("Payment ledger drifted from the database in {} cells, reloading: {}", drift.size(), drift);
+        paymentLedger.reload();
+        repairs.increment();
+    }
+}
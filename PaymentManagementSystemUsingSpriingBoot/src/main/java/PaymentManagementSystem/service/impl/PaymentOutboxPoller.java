@@ -0,0 +1,189 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.entity.PaymentOutboxEntry;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.repository.PaymentOutboxRepository;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.service.PaymentProcessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the payment outbox. Each poll claims a batch with {@code FOR UPDATE SKIP LOCKED}, so any
+ * number of nodes can poll the same table, and leases the batch to this node for a while. Every entry
+ * is then processed in its own transaction that first deletes the entry under the lease token: the
+ * processor's changes commit only together with that delete, so an entry whose lease expired and was
+ * re-claimed elsewhere is never applied twice. An entry that fails max-attempts times is dead-lettered:
+ * it stays in the table with its last error, is no longer claimed, and counts towards
+ * {@code payment.outbox.dead-lettered}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payments.processing.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentOutboxPoller implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentOutboxPoller.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<PaymentType, PaymentProcessor> processors = new EnumMap<>(PaymentType.class);
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private final Counter deadLettered;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    public PaymentOutboxPoller(PaymentOutboxRepository outboxRepository,
+                               PaymentRepository paymentRepository,
+                               TransactionTemplate transactionTemplate,
+                               List<PaymentProcessor> paymentProcessors,
+                               @Value("${app.payments.processing.parallelism:4}") int parallelism,
+                               @Value("${app.payments.processing.batch-size:50}") int batchSize,
+                               @Value("${app.payments.processing.lease:30s}") Duration lease,
+                               @Value("${app.payments.processing.retry-backoff:5s}") Duration retryBackoff,
+                               @Value("${app.payments.processing.max-backoff:10m}") Duration maxBackoff,
+                               @Value("${app.payments.processing.max-attempts:10}") int maxAttempts,
+                               MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = transactionTemplate;
+        for (PaymentProcessor processor : paymentProcessors) {
+            PaymentProcessor previous = processors.put(processor.getPaymentType(), processor);
+            if (previous != null) {
+                throw new IllegalStateException("More than one processor for " + processor.getPaymentType()
+                        + ": " + previous.getClass().getName() + ", " + processor.getClass().getName());
+            }
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism,
+                task -> new Thread(task, "payment-processor-" + threadCount.incrementAndGet()));
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+        this.deadLettered = Counter.builder("payment.outbox.dead-lettered")
+                .description("Outbox entries given up on after app.payments.processing.max-attempts failures")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.processing.poll-interval:1s}")
+    public void poll() {
+        // Keep draining while batches come back full instead of waiting out the poll interval
+        while (pollOnce() == batchSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    /** Claims and processes one batch; returns how many entries were claimed. */
+    public int pollOnce() {
+        String claimToken = nodeId + ":" + UUID.randomUUID();
+        List<PaymentOutboxEntry> claimed = transactionTemplate.execute(status -> claim(claimToken));
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(claimed.size());
+        for (PaymentOutboxEntry entry : claimed) {
+            tasks.add(() -> {
+                process(entry, claimToken);
+                return null;
+            });
+        }
+        try {
+            workers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return claimed.size();
+    }
+
+    private List<PaymentOutboxEntry> claim(String claimToken) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxRepository.lockDue(now, batchSize);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        outboxRepository.claim(ids, claimToken, now.plus(lease));
+        return outboxRepository.findByClaimToken(claimToken);
+    }
+
+    private void process(PaymentOutboxEntry entry, String claimToken) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (outboxRepository.complete(entry.getId(), claimToken) == 0) {
+                    return;
+                }
+                // A deleted payment takes its outbox entries with it, but one may be mid-flight
+                paymentRepository.findById(entry.getPaymentId())
+                        .ifPresent(payment -> processorFor(entry.getPaymentType()).process(payment));
+            });
+        } catch (RuntimeException e) {
+            String error = String.valueOf(e);
+            String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+            if (entry.getAttempts() >= maxAttempts) {
+                log.error("Processing payment {} failed on attempt {}, moving it to the dead letters",
+                        entry.getPaymentId(), entry.getAttempts(), e);
+                Integer parked = transactionTemplate.execute(status -> outboxRepository.deadLetter(
+                        entry.getId(), claimToken, LocalDateTime.now(), lastError));
+                if (parked != null && parked > 0) {
+                    deadLettered.increment();
+                }
+                return;
+            }
+            Duration backoff = backoff(entry.getAttempts());
+            log.warn("Processing payment {} failed on attempt {}, retrying in {}",
+                    entry.getPaymentId(), entry.getAttempts(), backoff, e);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.release(entry.getId(), claimToken,
+                    LocalDateTime.now().plus(backoff), lastError));
+        }
+    }
+
+    private PaymentProcessor processorFor(PaymentType paymentType) {
+        PaymentProcessor processor = processors.get(paymentType);
+        if (processor == null) {
+            throw new IllegalStateException("No payment processor registered for " + paymentType);
+        }
+        return processor;
+    }
+
+    /** Exponential backoff from retry-backoff, capped at max-backoff. */
+    Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = retryBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(lease.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
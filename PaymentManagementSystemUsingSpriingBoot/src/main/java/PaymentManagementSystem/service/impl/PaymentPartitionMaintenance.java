@@ -0,0 +1,86 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.repository.PaymentPartitionRepository;
+import PaymentManagementSystem.service.PaymentArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps the monthly payment partitions ahead of the calendar and archives months older than the
+ * retention period. Runs on every node; partition DDL is idempotent and a concurrent archive of the
+ * same month fails its detach and is retried on the next run. Only created for PostgreSQL datasources,
+ * where the V8 vendor migration has partitioned the table.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payments.partitioning.enabled", havingValue = "true")
+@Conditional(PaymentPartitionMaintenance.OnPostgresDataSource.class)
+public class PaymentPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentPartitionMaintenance.class);
+
+    private final PaymentPartitionRepository partitionRepository;
+    private final PaymentArchiveService archiveService;
+    private final int premakeMonths;
+    private final int retentionMonths;
+
+    public PaymentPartitionMaintenance(PaymentPartitionRepository partitionRepository,
+                                       PaymentArchiveService archiveService,
+                                       @Value("${app.payments.partitioning.premake-months:3}") int premakeMonths,
+                                       @Value("${app.payments.partitioning.retention-months:24}") int retentionMonths) {
+        this.partitionRepository = partitionRepository;
+        this.archiveService = archiveService;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(cron = "${app.payments.partitioning.maintenance-cron:0 30 2 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        createPartitions(current);
+        archiveExpired(current);
+    }
+
+    void createPartitions(YearMonth current) {
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                partitionRepository.createPartition(month);
+            } catch (RuntimeException e) {
+                // Fails if the default partition already holds rows for this month
+                log.warn("Could not create payment partition for {}", month, e);
+            }
+        }
+    }
+
+    void archiveExpired(YearMonth current) {
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (String partition : partitionRepository.findAttachedPartitions()) {
+            if (!PaymentPartitionRepository.monthOf(partition).isBefore(oldestKept)) {
+                break;
+            }
+            try {
+                archiveService.archivePartition(partition);
+            } catch (RuntimeException e) {
+                log.warn("Could not archive payment partition {}; will retry on the next run", partition, e);
+            }
+        }
+    }
+
+    /** Partition DDL and pg_inherits lookups only exist on PostgreSQL. */
+    static class OnPostgresDataSource implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return context.getEnvironment().getProperty("spring.datasource.url", "").startsWith("jdbc:postgresql:");
+        }
+    }
+}
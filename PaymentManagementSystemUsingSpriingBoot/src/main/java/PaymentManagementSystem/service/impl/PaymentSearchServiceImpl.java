@@ -0,0 +1,84 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.DTO.request.PaymentCursor;
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.exception.UnindexedSearchException;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.repository.UserRepository;
+import PaymentManagementSystem.service.PaymentQueryPlan;
+import PaymentManagementSystem.service.PaymentQueryPlanner;
+import PaymentManagementSystem.service.PaymentSearchService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Multi-criteria payment search. Free text matches creator names and emails; it is resolved to
+ * creator ids against the small users table first, so the listing query stays an indexed
+ * {@code created_by in (...)} read. Every search is planned before it runs.
+ */
+@Service
+@Timed(value = "payment.search.service", histogram = true)
+public class PaymentSearchServiceImpl implements PaymentSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentSearchServiceImpl.class);
+
+    @Autowired
+    private PaymentViewRepository paymentViewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PaymentQueryPlanner queryPlanner;
+
+    @Value("${app.payments.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${app.payments.search.max-text-matches:50}")
+    private int maxTextMatches = 50;
+
+    @Override
+    public CursorPageResponse<PaymentResponse> search(PaymentFilter filter, String text, String cursor, int size) {
+        PaymentFilter criteria = filter != null ? filter : new PaymentFilter();
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PaymentCursor after = cursor == null || cursor.isBlank() ? null : PaymentCursor.decode(cursor);
+
+        List<Long> creatorIds = null;
+        if (text != null && !text.isBlank()) {
+            creatorIds = userRepository.findIdsMatching(escapeLike(text.trim()), PageRequest.of(0, maxTextMatches + 1));
+            if (creatorIds.isEmpty()) {
+                return new CursorPageResponse<>(List.of(), null, false);
+            }
+            if (creatorIds.size() > maxTextMatches) {
+                throw new UnindexedSearchException("Search text '" + text.trim() + "' matches more than "
+                        + maxTextMatches + " users; be more specific");
+            }
+        }
+
+        PaymentQueryPlan plan = queryPlanner.plan(criteria, creatorIds);
+        log.debug("Payment search planned on {}", plan);
+
+        List<PaymentResponse> rows = paymentViewRepository.findPage(criteria, after, creatorIds, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<PaymentResponse> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            PaymentResponse last = page.get(page.size() - 1);
+            nextCursor = new PaymentCursor(last.getDate(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(page, nextCursor, hasMore);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
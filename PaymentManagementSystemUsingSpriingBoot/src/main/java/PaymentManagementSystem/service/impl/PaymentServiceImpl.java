@@ -1,22 +1,73 @@
 package PaymentManagementSystem.service.impl;
 
+import PaymentManagementSystem.DTO.request.PaymentCursor;
+import PaymentManagementSystem.DTO.request.PaymentFilter;
 import PaymentManagementSystem.DTO.request.PaymentRequest;
+import PaymentManagementSystem.DTO.response.BulkPaymentItemResult;
+import PaymentManagementSystem.DTO.response.BulkPaymentResponse;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
 import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.config.CacheConfig;
+import PaymentManagementSystem.config.ReplicaRoutingDataSource;
 import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.PaymentOutboxEntry;
+import PaymentManagementSystem.entity.PaymentRollupKey;
 import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.ExportFormat;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.exception.BulkRequestTooLargeException;
+import PaymentManagementSystem.exception.InvalidStatusTransitionException;
 import PaymentManagementSystem.exception.PaymentNotFoundException;
+import PaymentManagementSystem.exception.PaymentVersionMismatchException;
 import PaymentManagementSystem.exception.UserNotFoundException;
+import PaymentManagementSystem.repository.PaymentOutboxRepository;
 import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
 import PaymentManagementSystem.repository.UserRepository;
+import PaymentManagementSystem.repository.projection.PaymentCollectionVersion;
+import PaymentManagementSystem.service.PaymentArchiveService;
+import PaymentManagementSystem.service.PaymentRollupDeltas;
 import PaymentManagementSystem.service.PaymentService;
+import PaymentManagementSystem.service.PaymentSummaryService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "payment.service", histogram = true)
 public class PaymentServiceImpl implements PaymentService {
 
     @Autowired
@@ -25,7 +76,47 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PaymentSummaryService paymentSummaryService;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private PaymentArchiveService paymentArchiveService;
+
+    @Autowired
+    private PaymentViewRepository paymentViewRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.payments.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${app.payments.bulk.max-items:10000}")
+    private int maxBulkItems = 10000;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int bulkBatchSize = 50;
+
+    @Value("${app.payments.export.fetch-size:1000}")
+    private int exportFetchSize = 1000;
+
+    @Value("${app.payments.status-update.max-attempts:3}")
+    private int maxStatusUpdateAttempts = 3;
+
     @Override
+    @Transactional
     public PaymentResponse createPayment(PaymentRequest paymentRequest, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + userEmail));
@@ -40,43 +131,327 @@ public class PaymentServiceImpl implements PaymentService {
         );
 
         Payment savedPayment = paymentRepository.save(payment);
+        if (savedPayment.getStatus() == PaymentStatus.PENDING) {
+            paymentOutboxRepository.save(PaymentOutboxEntry.of(savedPayment, savedPayment.getDate()));
+        }
+        paymentRepository.refreshView(List.of(savedPayment.getId()));
+        paymentSummaryService.applyDeltas(new PaymentRollupDeltas().add(savedPayment));
         return mapToResponse(savedPayment);
     }
 
     @Override
+    @Transactional
+    public BulkPaymentResponse createPayments(List<PaymentRequest> paymentRequests, String userEmail) {
+        if (paymentRequests.size() > maxBulkItems) {
+            throw new BulkRequestTooLargeException("Bulk request exceeds the limit of " + maxBulkItems + " payments");
+        }
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + userEmail));
+        LocalDateTime now = LocalDateTime.now();
+
+        BulkPaymentItemResult[] results = new BulkPaymentItemResult[paymentRequests.size()];
+        List<Payment> batch = new ArrayList<>(bulkBatchSize);
+        List<Integer> batchIndexes = new ArrayList<>(bulkBatchSize);
+        PaymentRollupDeltas rollupDeltas = new PaymentRollupDeltas();
+        int created = 0;
+
+        for (int i = 0; i < paymentRequests.size(); i++) {
+            PaymentRequest paymentRequest = paymentRequests.get(i);
+            String error = validate(paymentRequest);
+            if (error != null) {
+                results[i] = BulkPaymentItemResult.rejected(i, error);
+                continue;
+            }
+            batch.add(new Payment(
+                    paymentRequest.getAmount(),
+                    paymentRequest.getPaymentType(),
+                    paymentRequest.getCategory(),
+                    paymentRequest.getStatus(),
+                    now,
+                    user
+            ));
+            batchIndexes.add(i);
+            rollupDeltas.add(batch.get(batch.size() - 1));
+            if (batch.size() == bulkBatchSize) {
+                created += flushBatch(batch, batchIndexes, results);
+            }
+        }
+        created += flushBatch(batch, batchIndexes, results);
+        // One rollup update per touched group rather than one per payment
+        paymentSummaryService.applyDeltas(rollupDeltas);
+
+        return new BulkPaymentResponse(paymentRequests.size(), created,
+                paymentRequests.size() - created, Arrays.asList(results));
+    }
+
+    /** Writes one JDBC batch and detaches it so the persistence context stays small. */
+    private int flushBatch(List<Payment> batch, List<Integer> batchIndexes, BulkPaymentItemResult[] results) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        paymentRepository.saveAll(batch);
+        List<PaymentOutboxEntry> outboxEntries = batch.stream()
+                .filter(payment -> payment.getStatus() == PaymentStatus.PENDING)
+                .map(payment -> PaymentOutboxEntry.of(payment, payment.getDate()))
+                .toList();
+        if (!outboxEntries.isEmpty()) {
+            paymentOutboxRepository.saveAll(outboxEntries);
+        }
+        entityManager.flush();
+        paymentRepository.refreshView(batch.stream().map(Payment::getId).toList());
+        for (int i = 0; i < batch.size(); i++) {
+            results[batchIndexes.get(i)] = BulkPaymentItemResult.created(batchIndexes.get(i), batch.get(i).getId());
+        }
+        int written = batch.size();
+        entityManager.clear();
+        batch.clear();
+        batchIndexes.clear();
+        return written;
+    }
+
+    private String validate(PaymentRequest paymentRequest) {
+        if (paymentRequest == null) {
+            return "Payment is required";
+        }
+        Set<ConstraintViolation<PaymentRequest>> violations = validator.validate(paymentRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponse> getAllPayments() {
-        return paymentRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return paymentViewRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PaymentResponse> getPaymentsPage(PaymentFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PaymentCursor after = cursor == null || cursor.isBlank() ? null : PaymentCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<PaymentResponse> rows = paymentViewRepository.findPage(filter, after, null, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<PaymentResponse> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            PaymentResponse last = page.get(page.size() - 1);
+            nextCursor = new PaymentCursor(last.getDate(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(page, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentCollectionVersion getCollectionVersion() {
+        return paymentViewRepository.collectionVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPayments(PaymentFilter filter, ExportFormat format, OutputStream outputStream) throws IOException {
+        try (Stream<PaymentResponse> rows = paymentViewRepository.stream(filter, exportFetchSize)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows, outputStream);
+            } else {
+                writeNdjson(rows, outputStream);
+            }
+        }
+    }
+
+    private void writeNdjson(Stream<PaymentResponse> rows, OutputStream outputStream) throws IOException {
+        // Let the buffered writer decide when bytes hit the socket instead of flushing per row
+        ObjectWriter rowWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        for (Iterator<PaymentResponse> it = rows.iterator(); it.hasNext(); ) {
+            rowWriter.writeValue(writer, it.next());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Stream<PaymentResponse> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("id,amount,paymentType,category,status,date,createdBy\n");
+        for (Iterator<PaymentResponse> it = rows.iterator(); it.hasNext(); ) {
+            PaymentResponse row = it.next();
+            writer.write(row.getId() + "," + row.getAmount().toPlainString() + "," + row.getPaymentType()
+                    + "," + row.getCategory() + "," + row.getStatus() + "," + row.getDate()
+                    + "," + csvField(row.getCreatedBy()) + "\n");
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PAYMENTS_CACHE, key = "#id")
     public PaymentResponse getPaymentById(Long id) {
-        Payment payment = paymentRepository.findById(id)
+        // Fills the shared cache, whose ETags If-Match writes rely on, so it never reads from a lagging replica
+        return ReplicaRoutingDataSource.onPrimary(() -> findPaymentById(id));
+    }
+
+    private PaymentResponse findPaymentById(Long id) {
+        // Months detached from the partitioned table are read back from the archive
+        return paymentViewRepository.findById(id)
+                .or(() -> paymentArchiveService.findArchived(id))
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found with id: " + id));
-        return mapToResponse(payment);
     }
 
     @Override
-    public PaymentResponse updatePayment(Long id, PaymentRequest paymentRequest) {
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.PAYMENTS_CACHE, key = "#id")
+    public PaymentResponse updatePayment(Long id, PaymentRequest paymentRequest, Long expectedVersion) {
+        PaymentResponse snapshot = expectedVersion != null ? cachedPayment(id, expectedVersion) : null;
+        if (snapshot != null) {
+            checkTransition(id, snapshot.getStatus(), paymentRequest.getStatus());
+            PaymentResponse updated = updateFromSnapshot(snapshot, paymentRequest);
+            if (updated != null) {
+                return updated;
+            }
+        }
+
         Payment payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new PaymentNotFoundException("Payment not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(payment.getVersion())) {
+            throw versionMismatch(id, expectedVersion);
+        }
+        checkTransition(id, payment.getStatus(), paymentRequest.getStatus());
+        PaymentRollupKey previousKey = PaymentRollupKey.of(payment);
+        BigDecimal previousAmount = payment.getAmount();
 
         payment.setAmount(paymentRequest.getAmount());
         payment.setPaymentType(paymentRequest.getPaymentType());
         payment.setCategory(paymentRequest.getCategory());
         payment.setStatus(paymentRequest.getStatus());
 
-        Payment updatedPayment = paymentRepository.save(payment);
+        // Flush now so a concurrent edit fails here as a 409 and the response carries the new version
+        Payment updatedPayment = paymentRepository.saveAndFlush(payment);
+        paymentRepository.refreshView(List.of(id));
+        if (previousKey.getStatus() != PaymentStatus.PENDING) {
+            enqueueIfPending(updatedPayment.getId(), updatedPayment.getPaymentType(), updatedPayment.getStatus());
+        }
+        paymentSummaryService.applyDeltas(new PaymentRollupDeltas()
+                .remove(previousKey, previousAmount)
+                .add(updatedPayment));
         return mapToResponse(updatedPayment);
     }
 
+    /**
+     * If-Match fast path: a single conditional UPDATE with no read-back. The UPDATE only matches while the
+     * row still holds the cached values the deltas are computed from, so a stale snapshot cannot skew the
+     * rollups. Returns null when it did not match, and the caller falls back to reading the row.
+     */
+    private PaymentResponse updateFromSnapshot(PaymentResponse snapshot, PaymentRequest paymentRequest) {
+        int updated = paymentRepository.updateIfUnchanged(snapshot.getId(), snapshot.getVersion(),
+                snapshot.getAmount(), snapshot.getPaymentType(), snapshot.getCategory(), snapshot.getStatus(),
+                paymentRequest.getAmount(), paymentRequest.getPaymentType(),
+                paymentRequest.getCategory(), paymentRequest.getStatus());
+        if (updated == 0) {
+            return null;
+        }
+        paymentRepository.refreshView(List.of(snapshot.getId()));
+        PaymentResponse updatedPayment = new PaymentResponse(snapshot.getId(), paymentRequest.getAmount(),
+                paymentRequest.getPaymentType(), paymentRequest.getCategory(), paymentRequest.getStatus(),
+                snapshot.getDate(), snapshot.getCreatedBy(), snapshot.getVersion() + 1);
+        if (snapshot.getStatus() != PaymentStatus.PENDING) {
+            enqueueIfPending(updatedPayment.getId(), updatedPayment.getPaymentType(), updatedPayment.getStatus());
+        }
+        paymentSummaryService.applyDeltas(new PaymentRollupDeltas()
+                .remove(rollupKey(snapshot), snapshot.getAmount())
+                .add(rollupKey(updatedPayment), updatedPayment.getAmount()));
+        return updatedPayment;
+    }
+
+    /**
+     * Moves a payment to {@code status} with a compare-and-set UPDATE, re-reading and retrying
+     * when another writer got there first. Each attempt sees the latest committed row (READ COMMITTED).
+     */
     @Override
-    public void deletePayment(Long id) {
-        if (!paymentRepository.existsById(id)) {
-            throw new PaymentNotFoundException("Payment not found with id: " + id);
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.PAYMENTS_CACHE, key = "#id")
+    public PaymentResponse updatePaymentStatus(Long id, PaymentStatus status) {
+        for (int attempt = 1; ; attempt++) {
+            PaymentResponse current = paymentRepository.findResponseById(id)
+                    .orElseThrow(() -> new PaymentNotFoundException("Payment not found with id: " + id));
+            if (current.getStatus() == status) {
+                return current;
+            }
+            checkTransition(id, current.getStatus(), status);
+            if (paymentRepository.updateStatusIfVersion(id, current.getVersion(), status) == 1) {
+                paymentRepository.refreshView(List.of(id));
+                PaymentResponse updatedPayment = new PaymentResponse(id, current.getAmount(),
+                        current.getPaymentType(), current.getCategory(), status,
+                        current.getDate(), current.getCreatedBy(), current.getVersion() + 1);
+                enqueueIfPending(id, current.getPaymentType(), status);
+                paymentSummaryService.applyDeltas(new PaymentRollupDeltas()
+                        .remove(rollupKey(current), current.getAmount())
+                        .add(rollupKey(updatedPayment), updatedPayment.getAmount()));
+                return updatedPayment;
+            }
+            if (attempt >= maxStatusUpdateAttempts) {
+                throw new ObjectOptimisticLockingFailureException(Payment.class, id);
+            }
+        }
+    }
+
+    /** Payments re-entering PENDING (e.g. a retry from PROCESSING) go back through the pipeline. */
+    private void enqueueIfPending(Long id, PaymentType paymentType, PaymentStatus status) {
+        if (status == PaymentStatus.PENDING) {
+            paymentOutboxRepository.save(new PaymentOutboxEntry(id, paymentType, LocalDateTime.now()));
+        }
+    }
+
+    private static void checkTransition(Long id, PaymentStatus current, PaymentStatus requested) {
+        if (current != requested && !current.canTransitionTo(requested)) {
+            throw new InvalidStatusTransitionException(
+                    "Payment " + id + " cannot move from " + current + " to " + requested);
         }
-        paymentRepository.deleteById(id);
+    }
+
+    private PaymentResponse cachedPayment(Long id, Long version) {
+        Cache cache = cacheManager != null ? cacheManager.getCache(CacheConfig.PAYMENTS_CACHE) : null;
+        PaymentResponse cached = cache != null ? cache.get(id, PaymentResponse.class) : null;
+        return cached != null && version.equals(cached.getVersion()) ? cached : null;
+    }
+
+    private static PaymentVersionMismatchException versionMismatch(Long id, Long expectedVersion) {
+        return new PaymentVersionMismatchException(
+                "Payment " + id + " is no longer at version " + expectedVersion + "; reload it and retry");
+    }
+
+    private static PaymentRollupKey rollupKey(PaymentResponse payment) {
+        return new PaymentRollupKey(payment.getDate().toLocalDate(), payment.getPaymentType(),
+                payment.getCategory(), payment.getStatus());
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PAYMENTS_CACHE, key = "#id")
+    public void deletePayment(Long id) {
+        Payment payment = paymentRepository.findById(id)
+                .orElseThrow(() -> new PaymentNotFoundException("Payment not found with id: " + id));
+        paymentRepository.delete(payment);
+        paymentRepository.deleteFromView(List.of(id));
+        paymentSummaryService.applyDeltas(new PaymentRollupDeltas().remove(payment));
     }
 
     private PaymentResponse mapToResponse(Payment payment) {
@@ -87,7 +462,8 @@ public class PaymentServiceImpl implements PaymentService {
                 payment.getCategory(),
                 payment.getStatus(),
                 payment.getDate(),
-                payment.getCreatedBy().getName()
+                payment.getCreatedBy().getName(),
+                payment.getVersion()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.DTO.request.StatusTransitionRequest;
+import PaymentManagementSystem.DTO.response.StatusTransitionResponse;
+import PaymentManagementSystem.DTO.response.StatusTransitionResult;
+import PaymentManagementSystem.config.CacheConfig;
+import PaymentManagementSystem.entity.PaymentOutboxEntry;
+import PaymentManagementSystem.entity.PaymentRollupKey;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.StatusTransitionOutcome;
+import PaymentManagementSystem.exception.BulkRequestTooLargeException;
+import PaymentManagementSystem.exception.InvalidStatusTransitionException;
+import PaymentManagementSystem.repository.PaymentOutboxRepository;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.projection.PaymentIdStatus;
+import PaymentManagementSystem.repository.projection.PaymentTransitionRow;
+import PaymentManagementSystem.service.PaymentRollupDeltas;
+import PaymentManagementSystem.service.PaymentStatusService;
+import PaymentManagementSystem.service.PaymentSummaryService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "payment.status.service", histogram = true)
+public class PaymentStatusServiceImpl implements PaymentStatusService {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentSummaryService paymentSummaryService;
+
+    @Autowired
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.payments.status-transition.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.payments.status-transition.max-ids:100000}")
+    private int maxIds = 100000;
+
+    /**
+     * Moves every listed payment that is still in {@code from} to {@code to}, one UPDATE per chunk that
+     * also returns the moved rows' rollup columns.
+     * Each chunk commits on its own, so a large wave holds at most one chunk of row locks at a time.
+     */
+    @Override
+    public StatusTransitionResponse transition(StatusTransitionRequest request) {
+        PaymentStatus from = request.getFrom();
+        PaymentStatus to = request.getTo();
+        if (!from.canTransitionTo(to)) {
+            throw new InvalidStatusTransitionException("Payments cannot move from " + from + " to " + to);
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        if (ids.size() > maxIds) {
+            throw new BulkRequestTooLargeException("Status transition exceeds the limit of " + maxIds + " payments");
+        }
+
+        List<StatusTransitionResult> results = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            List<Long> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+            List<StatusTransitionResult> chunkResults =
+                    transactionTemplate.execute(status -> transitionChunk(chunk, from, to));
+            evictTransitioned(chunkResults);
+            results.addAll(chunkResults);
+        }
+
+        int transitioned = (int) results.stream()
+                .filter(result -> result.getOutcome() == StatusTransitionOutcome.TRANSITIONED)
+                .count();
+        return new StatusTransitionResponse(from, to, ids.size(), transitioned, ids.size() - transitioned, results);
+    }
+
+    private List<StatusTransitionResult> transitionChunk(List<Long> chunk, PaymentStatus from, PaymentStatus to) {
+        // One UPDATE ... RETURNING per chunk; sorted ids keep the row locks in id order across waves
+        List<PaymentTransitionRow> moved = paymentRepository.transitionStatus(
+                chunk.stream().sorted().toList(), from, to);
+        Set<Long> movedIds = moved.stream().map(PaymentTransitionRow::getId).collect(Collectors.toSet());
+
+        if (!moved.isEmpty()) {
+            PaymentRollupDeltas deltas = new PaymentRollupDeltas();
+            for (PaymentTransitionRow row : moved) {
+                LocalDate day = row.getDate().toLocalDate();
+                deltas.remove(new PaymentRollupKey(day, row.getPaymentType(), row.getCategory(), from), row.getAmount());
+                deltas.add(new PaymentRollupKey(day, row.getPaymentType(), row.getCategory(), to), row.getAmount());
+            }
+            paymentRepository.refreshView(movedIds);
+            paymentSummaryService.applyDeltas(deltas);
+            if (to == PaymentStatus.PENDING) {
+                LocalDateTime now = LocalDateTime.now();
+                paymentOutboxRepository.saveAll(moved.stream()
+                        .map(row -> new PaymentOutboxEntry(row.getId(), row.getPaymentType(), now))
+                        .toList());
+            }
+        }
+
+        Map<Long, PaymentStatus> skippedStatuses = new HashMap<>();
+        // Only ids the UPDATE skipped need a second look, to tell a status mismatch from a missing payment
+        if (movedIds.size() < chunk.size()) {
+            List<Long> skippedIds = chunk.stream().filter(id -> !movedIds.contains(id)).toList();
+            for (PaymentIdStatus row : paymentRepository.findStatuses(skippedIds)) {
+                skippedStatuses.put(row.getId(), row.getStatus());
+            }
+        }
+
+        List<StatusTransitionResult> results = new ArrayList<>(chunk.size());
+        for (Long id : chunk) {
+            if (movedIds.contains(id)) {
+                results.add(StatusTransitionResult.transitioned(id, to));
+            } else if (skippedStatuses.containsKey(id)) {
+                results.add(StatusTransitionResult.mismatch(id, skippedStatuses.get(id)));
+            } else {
+                results.add(StatusTransitionResult.notFound(id));
+            }
+        }
+        return results;
+    }
+
+    private void evictTransitioned(List<StatusTransitionResult> results) {
+        Cache cache = cacheManager.getCache(CacheConfig.PAYMENTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        for (StatusTransitionResult result : results) {
+            if (result.getOutcome() == StatusTransitionOutcome.TRANSITIONED) {
+                cache.evict(result.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package PaymentManagementSystem.service.impl;
+
+import PaymentManagementSystem.DTO.response.PaymentSummaryGroup;
+import PaymentManagementSystem.DTO.response.PaymentSummaryResponse;
+import PaymentManagementSystem.entity.PaymentDailyRollup;
+import PaymentManagementSystem.entity.PaymentRollupKey;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.SummaryGroupBy;
+import PaymentManagementSystem.enums.SummarySource;
+import PaymentManagementSystem.exception.UnsupportedSummaryException;
+import PaymentManagementSystem.repository.PaymentArchiveSegmentRepository;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.PaymentRollupRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.repository.projection.PaymentAggregateRow;
+import PaymentManagementSystem.service.PaymentLedger;
+import PaymentManagementSystem.service.PaymentRollupDeltas;
+import PaymentManagementSystem.service.PaymentSummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class PaymentSummaryServiceImpl implements PaymentSummaryService {
+
+    /** Bounds used when the caller leaves the date range open. */
+    private static final LocalDate EARLIEST_DAY = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST_DAY = LocalDate.of(9999, 12, 31);
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentRollupRepository rollupRepository;
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private PaymentArchiveSegmentRepository archiveSegmentRepository;
+
+    @Autowired
+    private PaymentViewRepository paymentViewRepository;
+
+    // No transaction here: the ledger path must not take a connection, and the others are one query each
+    @Override
+    public PaymentSummaryResponse getSummary(SummaryGroupBy groupBy, LocalDate from, LocalDate to,
+                                             SummarySource source) {
+        if (source == SummarySource.LEDGER) {
+            return ledgerSummary(groupBy, from, to);
+        }
+        LocalDate start = from != null ? from : EARLIEST_DAY;
+        LocalDate end = to != null ? to : LATEST_DAY;
+        List<PaymentAggregateRow> rows = source == SummarySource.LIVE
+                ? paymentRepository.aggregateDaily(start.atStartOfDay(), end.atStartOfDay())
+                : rollupRepository.findAggregates(start, end);
+
+        // Rows are already one per (day, type, category, status); folding them is O(groups)
+        Map<String, long[]> counts = new TreeMap<>();
+        Map<String, BigDecimal> totals = new TreeMap<>();
+        long totalCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (PaymentAggregateRow row : rows) {
+            String key = groupKey(groupBy, row);
+            counts.computeIfAbsent(key, k -> new long[1])[0] += row.getCount();
+            totals.merge(key, row.getTotalAmount(), BigDecimal::add);
+            totalCount += row.getCount();
+            totalAmount = totalAmount.add(row.getTotalAmount());
+        }
+
+        List<PaymentSummaryGroup> groups = new ArrayList<>(counts.size());
+        for (Map.Entry<String, long[]> entry : counts.entrySet()) {
+            long count = entry.getValue()[0];
+            BigDecimal total = totals.get(entry.getKey());
+            groups.add(new PaymentSummaryGroup(entry.getKey(), count, total, average(total, count)));
+        }
+        return new PaymentSummaryResponse(groupBy, source, from, to, totalCount, totalAmount,
+                average(totalAmount, totalCount), groups);
+    }
+
+    @Override
+    @Transactional
+    public void applyDeltas(PaymentRollupDeltas deltas) {
+        for (Map.Entry<PaymentRollupKey, PaymentRollupDeltas.Delta> entry : deltas.changes().entrySet()) {
+            PaymentRollupKey key = entry.getKey();
+            rollupRepository.insertIfAbsent(key.getDay(), key.getPaymentType().name(),
+                    key.getCategory().name(), key.getStatus().name());
+            rollupRepository.increment(key, entry.getValue().getCount(), entry.getValue().getAmount());
+        }
+        paymentLedger.apply(deltas);
+        // Every payment write that touches payment_view ends here; listings' validators read this row
+        paymentViewRepository.bumpCollectionVersion(LocalDateTime.now());
+    }
+
+    /**
+     * Reads every payment, so it runs on the application task executor rather than the request thread.
+     * Months already moved to the archive no longer have payment rows; their rollups are kept as they are.
+     */
+    @Override
+    @Async
+    @Transactional
+    public CompletableFuture<Integer> rebuildRollups() {
+        LocalDate from = archiveSegmentRepository.findLatestPeriodStart()
+                .map(month -> month.plusMonths(1))
+                .orElse(EARLIEST_DAY);
+        rollupRepository.deleteFrom(from);
+        List<PaymentDailyRollup> rollups = paymentRepository
+                .aggregateDaily(from.atStartOfDay(), LATEST_DAY.atStartOfDay()).stream()
+                .map(row -> new PaymentDailyRollup(
+                        new PaymentRollupKey(row.getDay(), row.getPaymentType(), row.getCategory(), row.getStatus()),
+                        row.getCount(), row.getTotalAmount()))
+                .toList();
+        rollupRepository.saveAll(rollups);
+        return CompletableFuture.completedFuture(rollups.size());
+    }
+
+    private PaymentSummaryResponse ledgerSummary(SummaryGroupBy groupBy, LocalDate from, LocalDate to) {
+        if (from != null || to != null || groupBy == SummaryGroupBy.DAY || groupBy == SummaryGroupBy.MONTH) {
+            throw new UnsupportedSummaryException("The ledger keeps all-time totals by type, category and status; "
+                    + "use the ROLLUP source for date ranges and daily or monthly groups");
+        }
+        Enum<?>[] keys = switch (groupBy) {
+            case CATEGORY -> PaymentCategory.values();
+            case STATUS -> PaymentStatus.values();
+            default -> PaymentType.values();
+        };
+        List<PaymentSummaryGroup> groups = new ArrayList<>(keys.length);
+        for (Enum<?> key : keys) {
+            long[] totals = paymentLedger.totals(
+                    key instanceof PaymentType type ? type : null,
+                    key instanceof PaymentCategory category ? category : null,
+                    key instanceof PaymentStatus status ? status : null);
+            if (totals[0] != 0) {
+                BigDecimal total = BigDecimal.valueOf(totals[1], 2);
+                groups.add(new PaymentSummaryGroup(key.name(), totals[0], total, average(total, totals[0])));
+            }
+        }
+        // Groups are listed in name order, as the other sources list them
+        groups.sort(Comparator.comparing(PaymentSummaryGroup::getKey));
+        long[] all = paymentLedger.totals(null, null, null);
+        BigDecimal totalAmount = BigDecimal.valueOf(all[1], 2);
+        return new PaymentSummaryResponse(groupBy, SummarySource.LEDGER, null, null, all[0], totalAmount,
+                average(totalAmount, all[0]), groups);
+    }
+
+    private static String groupKey(SummaryGroupBy groupBy, PaymentAggregateRow row) {
+        switch (groupBy) {
+            case CATEGORY:
+                return row.getCategory().name();
+            case STATUS:
+                return row.getStatus().name();
+            case DAY:
+                return row.getDay().toString();
+            case MONTH:
+                return YearMonth.from(row.getDay()).toString();
+            case PAYMENT_TYPE:
+            default:
+                return row.getPaymentType().name();
+        }
+    }
+
+    private static BigDecimal average(BigDecimal total, long count) {
+        return count == 0 ? BigDecimal.ZERO : total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
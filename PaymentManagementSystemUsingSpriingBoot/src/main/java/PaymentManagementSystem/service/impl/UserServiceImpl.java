@@ -2,18 +2,25 @@ package PaymentManagementSystem.service.impl;
 
 import PaymentManagementSystem.DTO.request.UserRequest;
 import PaymentManagementSystem.DTO.response.UserResponse;
+import PaymentManagementSystem.config.CacheConfig;
+import PaymentManagementSystem.config.ReplicaRoutingDataSource;
+import PaymentManagementSystem.config.UserPrincipalCache;
 import PaymentManagementSystem.entity.User;
 import PaymentManagementSystem.exception.UserNotFoundException;
 import PaymentManagementSystem.repository.UserRepository;
 import PaymentManagementSystem.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "user.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
     @Autowired
@@ -22,6 +29,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Override
     public UserResponse createUser(UserRequest userRequest) {
         if (userRepository.existsByEmail(userRequest.getEmail())) {
@@ -36,11 +46,13 @@ public class UserServiceImpl implements UserService {
         );
 
         User savedUser = userRepository.save(user);
+        userPrincipalCache.invalidate(savedUser.getEmail());
         return new UserResponse(savedUser.getId(), savedUser.getName(),
                 savedUser.getEmail(), savedUser.getRole());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(user -> new UserResponse(user.getId(), user.getName(),
@@ -49,8 +61,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public UserResponse getUserById(Long id) {
-        User user = userRepository.findById(id)
+        // Fills the shared cache, so it never reads from a lagging replica
+        User user = ReplicaRoutingDataSource.onPrimary(() -> userRepository.findById(id))
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
         return new UserResponse(user.getId(), user.getName(),
                 user.getEmail(), user.getRole());
@@ -0,0 +1,6 @@
+-- Entries that failed app.payments.processing.max-attempts times stay in the outbox, marked dead,
+-- for an operator to inspect; pollers no longer claim them.
+alter table payment_outbox add column dead_lettered_at timestamp(6);
+
+drop index idx_payment_outbox_available;
+create index idx_payment_outbox_available on payment_outbox (dead_lettered_at, available_at, id);
@@ -0,0 +1,9 @@
+-- One row bumped by every transaction that changes payment_view, next to the rollups, so a listing's
+-- validator is a primary-key read rather than an aggregate over the view.
+create table payment_collection_version (
+    id         smallint primary key,
+    version    bigint not null,
+    updated_at timestamp(6) not null
+);
+
+insert into payment_collection_version (id, version, updated_at) values (1, 0, current_timestamp);
@@ -0,0 +1,35 @@
+-- Schema as previously created by hibernate ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+create table users (
+    id       bigint generated by default as identity primary key,
+    name     varchar(255) not null,
+    email    varchar(255) not null,
+    password varchar(255) not null,
+    role     varchar(255) not null,
+    constraint uk_users_email unique (email)
+);
+
+-- Increment matches the entity's allocationSize so ids can be handed out in blocks
+create sequence payments_seq start with 1 increment by 50;
+
+create table payments (
+    id           bigint primary key,
+    amount       numeric(15, 2) not null,
+    payment_type varchar(255) not null,
+    category     varchar(255) not null,
+    status       varchar(255) not null,
+    date         timestamp(6) not null,
+    created_by   bigint not null,
+    constraint fk_payments_created_by foreign key (created_by) references users (id)
+);
+
+create table payment_daily_rollups (
+    rollup_day    date not null,
+    payment_type  varchar(255) not null,
+    category      varchar(255) not null,
+    status        varchar(255) not null,
+    payment_count bigint not null,
+    total_amount  numeric(19, 2) not null,
+    constraint pk_payment_daily_rollups primary key (rollup_day, payment_type, category, status)
+);
@@ -0,0 +1,10 @@
+-- Listings are keyset-paginated on (date desc, id desc), optionally filtered by one column.
+-- Each index leads with the filter column and ends with the keyset columns so a page is a
+-- bounded index range read with no sort step.
+create index idx_payments_date_id on payments (date, id);
+create index idx_payments_status_date_id on payments (status, date, id);
+create index idx_payments_category_date_id on payments (category, date, id);
+create index idx_payments_type_date_id on payments (payment_type, date, id);
+
+-- Also covers the foreign key, so deleting a user does not scan payments
+create index idx_payments_created_by_date_id on payments (created_by, date, id);
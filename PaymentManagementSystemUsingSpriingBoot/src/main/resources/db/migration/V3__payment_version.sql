@@ -0,0 +1,2 @@
+-- Optimistic-lock counter for payments; existing rows start at version 0
+alter table payments add column version bigint not null default 0;
@@ -0,0 +1,19 @@
+-- Work queue for the payment processing pipeline. Entries are written in the same transaction
+-- as their payment and deleted in the transaction that processes them.
+create sequence payment_outbox_seq start with 1 increment by 50;
+
+create table payment_outbox (
+    id           bigint primary key,
+    payment_id   bigint not null,
+    payment_type varchar(255) not null,
+    attempts     integer not null default 0,
+    available_at timestamp(6) not null,
+    claim_token  varchar(64),
+    last_error   varchar(1000),
+    created_at   timestamp(6) not null,
+    constraint fk_payment_outbox_payment foreign key (payment_id) references payments (id) on delete cascade
+);
+
+-- Pollers scan due entries in this order; a claimed entry is pushed past its lease
+create index idx_payment_outbox_available on payment_outbox (available_at, id);
+create index idx_payment_outbox_payment on payment_outbox (payment_id);
@@ -0,0 +1,13 @@
+-- Idempotency-Key replay store for POST /api/payments; keys are scoped to the caller
+-- and purged after app.payments.idempotency.retention
+create table payment_idempotency_keys (
+    owner           varchar(255) not null,
+    idempotency_key varchar(255) not null,
+    request_hash    varchar(64) not null,
+    payment_id      bigint,
+    response        text,
+    created_at      timestamp(6) not null,
+    constraint pk_payment_idempotency_keys primary key (owner, idempotency_key)
+);
+
+create index idx_payment_idempotency_keys_created on payment_idempotency_keys (created_at);
@@ -0,0 +1,8 @@
+-- Last write time per payment, for Last-Modified and collection validators; existing rows start at their payment date
+alter table payments add column updated_at timestamp(6);
+update payments set updated_at = date;
+alter table payments alter column updated_at set default localtimestamp;
+alter table payments alter column updated_at set not null;
+
+-- Keeps max(updated_at) an index lookup
+create index idx_payments_updated_at on payments (updated_at);
@@ -0,0 +1,12 @@
+-- One row per archived month of payments. Lookups by id check the id range before opening the archive.
+create table payment_archive_segments (
+    partition_name varchar(63) primary key,
+    period_start   date not null,
+    location       varchar(1000) not null,
+    min_id         bigint not null,
+    max_id         bigint not null,
+    row_count      bigint not null,
+    archived_at    timestamp(6) not null
+);
+
+create index idx_payment_archive_segments_ids on payment_archive_segments (min_id, max_id);
@@ -0,0 +1,26 @@
+-- Read model for payment listings: one row per payment, already joined with the creator's name, so
+-- GET /api/payments* reads a single table. Written in the same transaction as every payment write.
+create table payment_view (
+    id              bigint primary key,
+    amount          numeric(15, 2) not null,
+    payment_type    varchar(255) not null,
+    category        varchar(255) not null,
+    status          varchar(255) not null,
+    date            timestamp(6) not null,
+    created_by      bigint not null,
+    created_by_name varchar(255) not null,
+    version         bigint not null,
+    updated_at      timestamp(6) not null
+);
+
+-- Same keyset indexes as the payments table (V2), plus updated_at for collection validators
+create index idx_payment_view_date_id on payment_view (date, id);
+create index idx_payment_view_status_date_id on payment_view (status, date, id);
+create index idx_payment_view_category_date_id on payment_view (category, date, id);
+create index idx_payment_view_type_date_id on payment_view (payment_type, date, id);
+create index idx_payment_view_created_by_date_id on payment_view (created_by, date, id);
+create index idx_payment_view_updated_at on payment_view (updated_at);
+
+insert into payment_view (id, amount, payment_type, category, status, date, created_by, created_by_name, version, updated_at)
+select p.id, p.amount, p.payment_type, p.category, p.status, p.date, p.created_by, u.name, p.version, p.updated_at
+from payments p join users u on u.id = p.created_by;
@@ -0,0 +1,29 @@
+package PaymentManagementSystem.DTO;
+
+import PaymentManagementSystem.DTO.request.PaymentCursor;
+import PaymentManagementSystem.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaymentCursorTest {
+
+    @Test
+    void encodeDecode_RoundTrip() {
+        LocalDateTime date = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123456000);
+        PaymentCursor cursor = new PaymentCursor(date, 42L);
+
+        PaymentCursor decoded = PaymentCursor.decode(cursor.encode());
+
+        assertEquals(date, decoded.getDate());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void decode_Garbage_ThrowsException() {
+        assertThrows(InvalidCursorException.class, () -> PaymentCursor.decode("not-a-cursor"));
+    }
+}
@@ -0,0 +1,58 @@
+package PaymentManagementSystem.config;
+
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "myVerySecureAndLongSecretKeyForJWTTokenGenerationThatIs256BitsLong1234567890";
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 60_000, 100, Duration.ofMinutes(10));
+        User user = new User("John Doe", "john@example.com", "password", UserRole.FINANCE_MANAGER);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    @Test
+    void validateAndGetClaims_ReturnsSubjectAndRole() {
+        String token = tokenProvider.generateToken(authentication);
+
+        Optional<Claims> claims = tokenProvider.validateAndGetClaims(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("john@example.com", claims.get().getSubject());
+        assertEquals("FINANCE_MANAGER", claims.get().get(JwtTokenProvider.ROLE_CLAIM, String.class));
+        assertSame(claims.get(), tokenProvider.validateAndGetClaims(token).orElseThrow());
+    }
+
+    @Test
+    void validateAndGetClaims_TamperedToken_ReturnsEmpty() {
+        String token = tokenProvider.generateToken(authentication);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(tokenProvider.validateAndGetClaims(tampered).isEmpty());
+        assertTrue(tokenProvider.validateAndGetClaims("not.a.token").isEmpty());
+    }
+
+    @Test
+    void validateAndGetClaims_ExpiredToken_ReturnsEmpty() {
+        JwtTokenProvider expiringProvider = new JwtTokenProvider(SECRET, -1_000, 100, Duration.ofMinutes(10));
+        String token = expiringProvider.generateToken(authentication);
+
+        assertTrue(expiringProvider.validateAndGetClaims(token).isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package PaymentManagementSystem.config;
+
+import PaymentManagementSystem.exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PooledBCryptPasswordEncoderTest {
+
+    @Test
+    void encodeAndMatches_UseConfiguredCost() {
+        PooledBCryptPasswordEncoder encoder = new PooledBCryptPasswordEncoder(5, 2, 4, Duration.ofSeconds(1));
+        try {
+            String hash = encoder.encode("secret");
+
+            assertTrue(hash.startsWith("$2a$05$"));
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("wrong", hash));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void upgradeEncoding_TrueForLowerCostHash() {
+        PooledBCryptPasswordEncoder encoder = new PooledBCryptPasswordEncoder(5, 1, 1, Duration.ofSeconds(1));
+        try {
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+            assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encode_RejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        PooledBCryptPasswordEncoder encoder = new PooledBCryptPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(2));
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            while (encoder.getQueuedTasks() == 0) {
+                Thread.onSpinWait();
+            }
+
+            PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class,
+                    () -> encoder.encode("c"));
+            assertEquals(2, ex.getRetryAfterSeconds());
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            encoder.destroy();
+        }
+    }
+}
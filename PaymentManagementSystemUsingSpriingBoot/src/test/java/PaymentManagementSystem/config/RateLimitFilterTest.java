@@ -0,0 +1,118 @@
+package PaymentManagementSystem.config;
+
+import PaymentManagementSystem.enums.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry registry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.RoleLimits viewer = new RateLimitProperties.RoleLimits();
+        viewer.setRead(new RateLimitProperties.Bucket(2, 1));
+        viewer.setWrite(new RateLimitProperties.Bucket(1, 1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoles().put(UserRole.VIEWER, viewer);
+
+        registry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new InMemoryRateLimitStore(100, Duration.ofMinutes(1), clock::get),
+                properties, new ObjectMapper(), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_RejectsOnceBurstIsSpentAndRefillsOverTime() throws Exception {
+        authenticate("viewer@example.com", "VIEWER");
+
+        assertEquals(200, get().getStatus());
+        assertEquals(200, get().getStatus());
+        MockHttpServletResponse rejected = get();
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too many requests"));
+        assertEquals(1, registry.get("http.server.requests.throttled").tag("kind", "read").counter().count());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(200, get().getStatus());
+    }
+
+    @Test
+    void doFilter_ReadAndWriteBucketsAreSeparatePerUser() throws Exception {
+        authenticate("viewer@example.com", "VIEWER");
+        assertEquals(200, send("POST").getStatus());
+        assertEquals(429, send("POST").getStatus());
+        assertEquals(200, get().getStatus());
+
+        authenticate("other@example.com", "VIEWER");
+        assertEquals(200, send("POST").getStatus());
+    }
+
+    @Test
+    void doFilter_RolesWithoutLimitsAndAnonymousRequestsPassThrough() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, get().getStatus());
+        }
+        authenticate("admin@example.com", "ADMIN");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, get().getStatus());
+        }
+    }
+
+    @Test
+    void properties_RejectNonPositiveRefillRate() {
+        RateLimitProperties.RoleLimits limits = new RateLimitProperties.RoleLimits();
+        limits.setRead(new RateLimitProperties.Bucket(10, 0));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoles().put(UserRole.VIEWER, limits);
+
+        try (var factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            assertEquals(1, validator.validate(properties).size());
+
+            limits.getRead().setRefillPerSecond(5);
+            assertTrue(validator.validate(properties).isEmpty());
+        }
+    }
+
+    private void authenticate(String email, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+
+    private MockHttpServletResponse get() throws Exception {
+        return send("GET");
+    }
+
+    private MockHttpServletResponse send(String method) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, "/api/payments"), response,
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(200));
+        return response;
+    }
+}
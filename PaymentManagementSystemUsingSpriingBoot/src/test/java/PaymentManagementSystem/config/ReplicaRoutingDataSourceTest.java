@@ -0,0 +1,145 @@
+package PaymentManagementSystem.config;
+
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and its replica. Replication is not simulated,
+ * so a row written through the application is only visible where the read was routed to the primary.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaDataSourceConfig.class, UserPrincipalCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "app.datasource.replicas.username=sa",
+        "app.datasource.replicas.password=",
+        "app.datasource.replicas.lag-query=SELECT 0"
+})
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    @BeforeEach
+    void setUp() {
+        replica.update("insert into users (name, email, password, role) values (?, ?, ?, ?)",
+                "Replica User", "replica@example.com", "password", UserRole.VIEWER.name());
+        userRepository.save(new User("Primary User", "primary@example.com", "password", UserRole.ADMIN));
+        lagMonitor.checkLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        principalCache.invalidateAll();
+        userRepository.deleteAll();
+        replica.update("delete from users");
+    }
+
+    @Test
+    void readOnlyQueries_AreServedByReplica() {
+        assertEquals(List.of("replica@example.com"), readEmails());
+        assertTrue(principalCache.findByEmail("replica@example.com").isPresent());
+    }
+
+    @Test
+    void nonTransactionalAndReadWriteWork_StaysOnPrimary() {
+        // The login and password-rehash lookups run outside any transaction
+        assertTrue(userRepository.findByEmail("primary@example.com").isPresent());
+        boolean found = new TransactionTemplate(transactionManager).execute(
+                status -> userRepository.findAll().stream().anyMatch(u -> u.getEmail().equals("primary@example.com")));
+        assertTrue(found);
+        assertEquals(List.of("primary@example.com"), ReplicaRoutingDataSource.onPrimary(this::readEmails));
+    }
+
+    @Test
+    void principalMissingOnReplica_IsLoadedFromPrimary() {
+        assertTrue(principalCache.findByEmail("primary@example.com").isPresent());
+    }
+
+    @Test
+    void laggingOrFailedReplica_FallsBackToPrimary() {
+        routingDataSource.setLagMillis(0, 60_000);
+        assertEquals(List.of("primary@example.com"), readEmails());
+
+        lagMonitor.checkLag();
+        assertEquals(List.of("replica@example.com"), readEmails());
+
+        routingDataSource.setLagMillis(0, ReplicaRoutingDataSource.UNAVAILABLE);
+        assertEquals(List.of("primary@example.com"), readEmails());
+    }
+
+    @Test
+    void ownWrite_PinsThatUserToPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null));
+        userRepository.save(new User("Alice", "alice@example.com", "password", UserRole.FINANCE_MANAGER));
+        assertEquals(List.of("alice@example.com", "primary@example.com"), readEmails());
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", null));
+        assertEquals(List.of("replica@example.com"), readEmails());
+    }
+
+    @Test
+    void getConnectionWithCredentials_IsNotSupported() {
+        assertThrows(SQLFeatureNotSupportedException.class, () -> routingDataSource.getConnection("sa", ""));
+    }
+
+    /** SimpleJpaRepository runs findAll in a read-only transaction. */
+    private List<String> readEmails() {
+        return userRepository.findAll().stream().map(User::getEmail).sorted().toList();
+    }
+}
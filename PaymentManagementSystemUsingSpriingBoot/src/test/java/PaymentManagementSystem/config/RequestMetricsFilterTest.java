@@ -0,0 +1,89 @@
+package PaymentManagementSystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestMetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private SqlStatementCounter statementCounter;
+    private RequestMetricsFilter filter;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new SimpleMeterRegistry();
+        statementCounter = new SqlStatementCounter();
+        filter = new RequestMetricsFilter(registry, statementCounter);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = statementCounter.wrap(target);
+    }
+
+    @Test
+    void doFilter_RecordsPayloadSizesAndStatementCount() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/payments/7");
+        request.setContent("{\"amount\":10}".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/payments/{id}");
+            try (Connection connection = dataSource.getConnection()) {
+                connection.prepareStatement("select 1");
+                connection.createStatement().executeQuery("select 2");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            res.getWriter().write("{\"id\":7}");
+        });
+
+        assertEquals("{\"id\":7}", response.getContentAsString());
+        assertEquals(13, summary("http.server.request.size").totalAmount());
+        assertEquals(8, summary("http.server.response.size").totalAmount());
+        assertEquals(2, summary("http.server.requests.sql.statements").totalAmount());
+    }
+
+    @Test
+    void doFilter_TagsUnmatchedRequestsByStatus() throws Exception {
+        MockHttpServletRequest missing = new MockHttpServletRequest("GET", "/api/nowhere");
+        filter.doFilter(missing, new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(404));
+        MockHttpServletRequest limited = new MockHttpServletRequest("GET", "/api/payments");
+        filter.doFilter(limited, new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(429));
+
+        assertEquals(1, registry.get("http.server.response.size").tags("uri", "NOT_FOUND", "status", "404")
+                .summary().count());
+        assertEquals(1, registry.get("http.server.response.size").tags("uri", "UNKNOWN", "status", "429")
+                .summary().count());
+    }
+
+    @Test
+    void statements_OutsideRequestAreNotCounted() throws Exception {
+        dataSource.getConnection().prepareStatement("select 1");
+        assertEquals(0, statementCounter.stop());
+        assertNull(registry.find("http.server.requests.sql.statements").summary());
+    }
+
+    private DistributionSummary summary(String name) {
+        return registry.get(name).tag("uri", "/api/payments/{id}").summary();
+    }
+}
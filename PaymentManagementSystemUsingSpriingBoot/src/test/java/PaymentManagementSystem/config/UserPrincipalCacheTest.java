@@ -0,0 +1,70 @@
+package PaymentManagementSystem.config;
+
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class UserPrincipalCacheTest {
+
+    private UserRepository userRepository;
+    private UserPrincipalCache principalCache;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        principalCache = new UserPrincipalCache(userRepository, 100, Duration.ofMinutes(5));
+        testUser = new User("John Doe", "john@example.com", "password", UserRole.ADMIN);
+    }
+
+    @Test
+    void findByEmail_HitsRepositoryOnce() {
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+
+        assertSame(testUser, principalCache.findByEmail("john@example.com").orElseThrow());
+        assertSame(testUser, principalCache.findByEmail("john@example.com").orElseThrow());
+
+        verify(userRepository, times(1)).findByEmail("john@example.com");
+    }
+
+    @Test
+    void invalidate_ReloadsFromRepository() {
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+
+        principalCache.findByEmail("john@example.com");
+        principalCache.invalidate("john@example.com");
+        principalCache.findByEmail("john@example.com");
+
+        verify(userRepository, times(2)).findByEmail("john@example.com");
+    }
+
+    @Test
+    void findByEmail_UnknownUserIsNotCached() {
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(principalCache.findByEmail("ghost@example.com").isEmpty());
+        assertTrue(principalCache.findByEmail("ghost@example.com").isEmpty());
+
+        // Each miss is confirmed once more on the primary
+        verify(userRepository, times(4)).findByEmail("ghost@example.com");
+    }
+
+    @Test
+    void findByEmail_MissOnReplicaIsRetriedOnPrimary() {
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.empty(), Optional.of(testUser));
+
+        assertSame(testUser, principalCache.findByEmail("john@example.com").orElseThrow());
+        assertSame(testUser, principalCache.findByEmail("john@example.com").orElseThrow());
+
+        verify(userRepository, times(2)).findByEmail("john@example.com");
+    }
+}
@@ -0,0 +1,68 @@
+package PaymentManagementSystem.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class VirtualThreadDiagnosticsTest {
+
+    @Test
+    void findPinningHazards_ReportsSynchronizedPgjdbcBefore426() throws Exception {
+        VirtualThreadDiagnostics diagnostics = diagnostics(dataSource("PostgreSQL JDBC Driver", "42.5.4"));
+
+        List<String> hazards = diagnostics.findPinningHazards(21);
+
+        assertEquals(1, hazards.size());
+        assertTrue(hazards.get(0).contains("42.5.4"));
+        assertTrue(diagnostics(dataSource("PostgreSQL JDBC Driver", "42.7.7")).findPinningHazards(21).isEmpty());
+    }
+
+    @Test
+    void findPinningHazards_NoDriverCheckWhenMonitorsNoLongerPin() {
+        DataSource dataSource = mock(DataSource.class);
+
+        assertTrue(diagnostics(dataSource).findPinningHazards(24).isEmpty());
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void findPinningHazards_ReportsJavaWithoutVirtualThreads() {
+        List<String> hazards = diagnostics(mock(DataSource.class)).findPinningHazards(17);
+
+        assertEquals(1, hazards.size());
+        assertTrue(hazards.get(0).contains("Java 17"));
+    }
+
+    @Test
+    void compareVersions_HandlesQualifiers() {
+        int[] minimum = {42, 6, 0};
+        assertTrue(VirtualThreadDiagnostics.compareVersions("42.5.4", minimum) < 0);
+        assertEquals(0, VirtualThreadDiagnostics.compareVersions("42.6.0", minimum));
+        assertTrue(VirtualThreadDiagnostics.compareVersions("42.7.7-SNAPSHOT", minimum) > 0);
+    }
+
+    private static VirtualThreadDiagnostics diagnostics(DataSource dataSource) {
+        return new VirtualThreadDiagnostics(dataSource, true, false, Duration.ofMillis(20));
+    }
+
+    private static DataSource dataSource(String driverName, String driverVersion) throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDriverName()).thenReturn(driverName);
+        when(metaData.getDriverVersion()).thenReturn(driverVersion);
+        return dataSource;
+    }
+}
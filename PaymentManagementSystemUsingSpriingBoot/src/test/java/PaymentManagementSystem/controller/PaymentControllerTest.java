@@ -1,10 +1,19 @@
 package PaymentManagementSystem.controller;
 
+import PaymentManagementSystem.DTO.request.PaymentFilter;
 import PaymentManagementSystem.DTO.request.PaymentRequest;
+import PaymentManagementSystem.DTO.response.BulkPaymentItemResult;
+import PaymentManagementSystem.DTO.response.BulkPaymentResponse;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
 import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.enums.ExportFormat;
 import PaymentManagementSystem.enums.PaymentCategory;
 import PaymentManagementSystem.enums.PaymentStatus;
 import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.exception.PaymentVersionMismatchException;
+import PaymentManagementSystem.repository.projection.PaymentCollectionVersion;
+import PaymentManagementSystem.service.PaymentIdempotencyService;
 import PaymentManagementSystem.service.PaymentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,23 +21,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(PaymentController.class)
+@WebMvcTest(controllers = PaymentController.class, properties = "app.payments.bulk.max-items=2")
 class PaymentControllerTest {
 
     @Autowired
@@ -37,6 +55,9 @@ class PaymentControllerTest {
     @MockitoBean
     private PaymentService paymentService;
 
+    @MockitoBean
+    private PaymentIdempotencyService paymentIdempotencyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,6 +78,9 @@ class PaymentControllerTest {
         paymentResponse.setPaymentType(PaymentType.OUTGOING);
         paymentResponse.setCategory(PaymentCategory.SALARY);
         paymentResponse.setStatus(PaymentStatus.PENDING);
+
+        when(paymentService.getCollectionVersion())
+                .thenReturn(new PaymentCollectionVersion(3L, LocalDateTime.of(2024, 5, 1, 12, 0)));
     }
 
     @Test
@@ -73,6 +97,52 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.data.amount").value(1000.00));
     }
 
+    @Test
+    @WithMockUser(username = "john@example.com", roles = "FINANCE_MANAGER")
+    void createPayment_WithIdempotencyKeyGoesThroughReplayStore() throws Exception {
+        when(paymentIdempotencyService.createPayment(eq("retry-42"), any(PaymentRequest.class), eq("john@example.com")))
+                .thenReturn(paymentResponse);
+
+        mockMvc.perform(post("/api/payments")
+                        .with(csrf())
+                        .header("Idempotency-Key", "retry-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(paymentRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(1L));
+        verify(paymentService, never()).createPayment(any(PaymentRequest.class), anyString());
+    }
+
+    @Test
+    @WithMockUser(roles = "FINANCE_MANAGER")
+    void createPayments_Bulk_Success() throws Exception {
+        BulkPaymentResponse bulkResponse = new BulkPaymentResponse(2, 1, 1, Arrays.asList(
+                BulkPaymentItemResult.created(0, 10L),
+                BulkPaymentItemResult.rejected(1, "amount: Amount must be positive")));
+        when(paymentService.createPayments(anyList(), anyString())).thenReturn(bulkResponse);
+
+        mockMvc.perform(post("/api/payments/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(paymentRequest, paymentRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.results[0].id").value(10))
+                .andExpect(jsonPath("$.data.results[1].success").value(false));
+    }
+
+    @Test
+    @WithMockUser(roles = "FINANCE_MANAGER")
+    void createPayments_Bulk_OverLimitIsRejectedWhileParsing() throws Exception {
+        mockMvc.perform(post("/api/payments/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Arrays.asList(paymentRequest, paymentRequest, paymentRequest))))
+                .andExpect(status().isPayloadTooLarge());
+        verify(paymentService, never()).createPayments(anyList(), anyString());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getAllPayments_Success() throws Exception {
@@ -81,7 +151,57 @@ class PaymentControllerTest {
 
         mockMvc.perform(get("/api/payments"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data").isArray());
+                .andExpect(jsonPath("$.data").isArray())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        verify(paymentService, never()).getCollectionVersion();
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getAllPayments_UnchangedCollectionReturnsNotModified() throws Exception {
+        when(paymentService.getAllPayments()).thenReturn(Arrays.asList(paymentResponse));
+
+        String eTag = mockMvc.perform(get("/api/payments").header(HttpHeaders.IF_MODIFIED_SINCE, 0L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/payments").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(paymentService, times(1)).getAllPayments();
+
+        when(paymentService.getCollectionVersion())
+                .thenReturn(new PaymentCollectionVersion(4L, LocalDateTime.of(2024, 5, 1, 12, 0)));
+        mockMvc.perform(get("/api/payments").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getPaymentById_CurrentVersionReturnsNotModified() throws Exception {
+        paymentResponse.setVersion(4L);
+        when(paymentService.getPaymentById(1L)).thenReturn(paymentResponse);
+
+        mockMvc.perform(get("/api/payments/1").header(HttpHeaders.IF_NONE_MATCH, "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = "VIEWER")
+    void getPaymentsPage_Success() throws Exception {
+        CursorPageResponse<PaymentResponse> page =
+                new CursorPageResponse<>(Arrays.asList(paymentResponse), "next-token", true);
+        when(paymentService.getPaymentsPage(any(PaymentFilter.class), isNull(), eq(20))).thenReturn(page);
+
+        mockMvc.perform(get("/api/payments/page")
+                        .param("size", "20")
+                        .param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items").isArray())
+                .andExpect(jsonPath("$.data.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
     }
 
     @Test
@@ -97,7 +217,7 @@ class PaymentControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void updatePayment_Success() throws Exception {
-        when(paymentService.updatePayment(eq(1L), any(PaymentRequest.class))).thenReturn(paymentResponse);
+        when(paymentService.updatePayment(eq(1L), any(PaymentRequest.class), isNull())).thenReturn(paymentResponse);
 
         mockMvc.perform(put("/api/payments/1")
                         .with(csrf())
@@ -116,4 +236,65 @@ class PaymentControllerTest {
                 .andExpect(status().isOk());
     }
 
-}
\ No newline at end of file
+    @Test
+    @WithMockUser(roles = "FINANCE_MANAGER")
+    void exportPayments_StreamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(paymentService).exportPayments(any(PaymentFilter.class), eq(ExportFormat.NDJSON), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/payments/export").param("status", "COMPLETED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updatePayment_IfMatchPassesVersionAndReturnsNewETag() throws Exception {
+        paymentResponse.setVersion(4L);
+        when(paymentService.updatePayment(eq(1L), any(PaymentRequest.class), eq(3L))).thenReturn(paymentResponse);
+
+        mockMvc.perform(put("/api/payments/1")
+                        .with(csrf())
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(paymentRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.data.version").value(4));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updatePayment_StaleIfMatchReturns412() throws Exception {
+        when(paymentService.updatePayment(eq(1L), any(PaymentRequest.class), eq(3L)))
+                .thenThrow(new PaymentVersionMismatchException("Payment 1 is no longer at version 3"));
+
+        mockMvc.perform(put("/api/payments/1")
+                        .with(csrf())
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(paymentRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updatePayment_ConcurrentEditReturns409() throws Exception {
+        when(paymentService.updatePayment(eq(1L), any(PaymentRequest.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Payment.class, 1L));
+
+        mockMvc.perform(put("/api/payments/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(paymentRequest)))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,118 @@
+package PaymentManagementSystem.controller;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.config.JwtTokenProvider;
+import PaymentManagementSystem.enums.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boots the application in the reactive profile (Netty, WebFlux security, R2DBC) against H2.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "app.payments.processing.enabled=false"
+})
+@ActiveProfiles({"h2", "reactive"})
+class ReactivePaymentControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String viewerToken;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from payment_view");
+        jdbcTemplate.update("delete from payments");
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("insert into users (id, name, email, password, role) "
+                + "values (1, 'Jane Viewer', 'viewer@example.com', 'hash', 'VIEWER')");
+        jdbcTemplate.update("insert into payments (id, amount, payment_type, category, status, date, created_by, version) "
+                + "values (1, 100.00, 'INCOMING', 'INVOICE', 'PENDING', timestamp '2024-05-01 10:00:00', 1, 0), "
+                + "(2, 250.00, 'OUTGOING', 'SALARY', 'COMPLETED', timestamp '2024-05-02 10:00:00', 1, 3), "
+                + "(3, 75.50, 'INCOMING', 'INVOICE', 'PENDING', timestamp '2024-05-03 10:00:00', 1, 0)");
+        jdbcTemplate.update("insert into payment_view (id, amount, payment_type, category, status, date, created_by, "
+                + "created_by_name, version, updated_at) select p.id, p.amount, p.payment_type, p.category, p.status, "
+                + "p.date, p.created_by, u.name, p.version, p.updated_at from payments p join users u on u.id = p.created_by");
+
+        UserDetails viewer = User.withUsername("viewer@example.com").password("hash").roles("VIEWER").build();
+        viewerToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(viewer, null, viewer.getAuthorities()));
+    }
+
+    @Test
+    void streamPayments_StreamsMatchingRowsNewestFirst() {
+        List<PaymentResponse> payments = webTestClient.get()
+                .uri("/api/payments?status=PENDING")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .headers(headers -> headers.setBearerAuth(viewerToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(PaymentResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(2, payments.size());
+        assertEquals(3L, payments.get(0).getId());
+        assertEquals(1L, payments.get(1).getId());
+        assertEquals(PaymentStatus.PENDING, payments.get(0).getStatus());
+        assertEquals("Jane Viewer", payments.get(0).getCreatedBy());
+    }
+
+    @Test
+    void getPaymentById_ReturnsPaymentWithETag() {
+        webTestClient.get()
+                .uri("/api/payments/2")
+                .headers(headers -> headers.setBearerAuth(viewerToken))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"")
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.amount").isEqualTo(250.0)
+                .jsonPath("$.data.createdBy").isEqualTo("Jane Viewer");
+
+        webTestClient.get()
+                .uri("/api/payments/99")
+                .headers(headers -> headers.setBearerAuth(viewerToken))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Payment not found with id: 99");
+    }
+
+    @Test
+    void streamPayments_RequiresValidBearerToken() {
+        webTestClient.get().uri("/api/payments")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        webTestClient.get().uri("/api/payments")
+                .headers(headers -> headers.setBearerAuth("not-a-token"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
@@ -0,0 +1,213 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.DTO.request.PaymentCursor;
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.UserRole;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL the payment queries issue, Hibernate-generated and plain JDBC alike, and fails
+ * unless every read of payments, payment_view or rollups is an index lookup driven by one of the query's
+ * own predicates.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "PaymentManagementSystem.repository.PaymentQueryPlanTest$CapturingInspector")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentQueryPlanTest {
+
+    private static final List<String> CAPTURED_SQL = new CopyOnWriteArrayList<>();
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final Pattern TABLE_ACCESS = Pattern.compile(
+            "\"public\"\\.\"(payments|payment_view|payment_daily_rollups)\"(?: \"\\w+\")?\\s*/\\* ([^*]*) \\*/");
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentRollupRepository rollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private PaymentViewRepository viewRepository;
+
+    @BeforeEach
+    void setUp() {
+        User[] users = new User[10];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = entityManager.persist(
+                    new User("User " + i, "user" + i + "@example.com", "password", UserRole.FINANCE_MANAGER));
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(entityManager.persistAndGetId(new Payment(
+                    new BigDecimal(100 + i),
+                    i % 2 == 0 ? PaymentType.OUTGOING : PaymentType.INCOMING,
+                    PaymentCategory.values()[i % PaymentCategory.values().length],
+                    PaymentStatus.values()[i % PaymentStatus.values().length],
+                    BASE.plusMinutes(i),
+                    users[i % users.length]), Long.class));
+        }
+        paymentRepository.refreshView(ids);
+        entityManager.clear();
+        viewRepository = new PaymentViewRepository(new NamedParameterJdbcTemplate(new CapturingDataSource(dataSource)));
+        CAPTURED_SQL.clear();
+    }
+
+    @Test
+    void keysetPages_UseIndexForEveryFilter() {
+        PaymentCursor cursor = new PaymentCursor(BASE.plusMinutes(1000), 1000L);
+        for (PaymentFilter filter : filters()) {
+            // An unfiltered first page is an ordered LIMIT read, which H2 cannot show as an index range
+            if (filter.getStatus() != null || filter.getCategory() != null
+                    || filter.getPaymentType() != null || filter.getFromDate() != null) {
+                assertIndexed(() -> viewRepository.findPage(filter, null, null, 51));
+            }
+            assertIndexed(() -> viewRepository.findPage(filter, cursor, null, 51));
+        }
+        assertIndexed(() -> viewRepository.findPage(new PaymentFilter(), cursor, List.of(1L, 2L), 51));
+    }
+
+    @Test
+    void lookupsAndSummaries_UseIndex() {
+        assertIndexed(() -> paymentRepository.findResponseById(1L));
+        assertIndexed(() -> viewRepository.findById(1L));
+        assertIndexed(() -> paymentRepository.aggregateDaily(BASE, BASE.plusDays(1)));
+        assertIndexed(() -> rollupRepository.findAggregates(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)));
+    }
+
+    private static List<PaymentFilter> filters() {
+        PaymentFilter none = new PaymentFilter();
+        PaymentFilter byStatus = new PaymentFilter();
+        byStatus.setStatus(PaymentStatus.PENDING);
+        PaymentFilter byCategory = new PaymentFilter();
+        byCategory.setCategory(PaymentCategory.SALARY);
+        PaymentFilter byType = new PaymentFilter();
+        byType.setPaymentType(PaymentType.INCOMING);
+        PaymentFilter byDate = new PaymentFilter();
+        byDate.setFromDate(BASE);
+        byDate.setToDate(BASE.plusDays(1));
+        return List.of(none, byStatus, byCategory, byType, byDate);
+    }
+
+    private void assertIndexed(Runnable query) {
+        CAPTURED_SQL.clear();
+        query.run();
+        assertFalse(CAPTURED_SQL.isEmpty(), "No SQL captured");
+        for (String sql : CAPTURED_SQL) {
+            String plan = explain(sql);
+            Matcher access = TABLE_ACCESS.matcher(plan);
+            assertTrue(access.find(), () -> "No payments access in plan:\n" + plan);
+            do {
+                // A lookup driven only by a join column (e.g. created_by = users.id) still visits every row
+                String condition = access.group(2);
+                assertTrue(!condition.contains("tableScan") && condition.contains("?"),
+                        () -> "Unindexed access '" + condition + "' in plan:\n" + plan + "\nfor SQL:\n" + sql);
+            } while (access.find());
+        }
+    }
+
+    /** H2 plans at prepare time, so any value of the right type is enough to bind the parameters. */
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setObject(i, sampleValue(parameters.getParameterType(i)));
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private static Object sampleValue(int sqlType) {
+        switch (sqlType) {
+            case Types.TIMESTAMP:
+                return Timestamp.valueOf(BASE);
+            case Types.DATE:
+                return java.sql.Date.valueOf(BASE.toLocalDate());
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return 1;
+            default:
+                return PaymentStatus.PENDING.name();
+        }
+    }
+
+    /** Records the SQL that plain JDBC reads prepare, as {@link CapturingInspector} does for Hibernate. */
+    static class CapturingDataSource extends DelegatingDataSource {
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement")) {
+                            CAPTURED_SQL.add((String) args[0]);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            CAPTURED_SQL.add(sql);
+            return sql;
+        }
+    }
+}
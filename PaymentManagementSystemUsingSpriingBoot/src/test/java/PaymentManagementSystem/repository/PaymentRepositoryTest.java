@@ -0,0 +1,80 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentRepositoryTest {
+
+    private static final int PAYMENT_COUNT = 1000;
+    private static final int USER_COUNT = 25;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        User[] users = new User[USER_COUNT];
+        for (int i = 0; i < USER_COUNT; i++) {
+            users[i] = entityManager.persist(
+                    new User("User " + i, "user" + i + "@example.com", "password", UserRole.FINANCE_MANAGER));
+        }
+        for (int i = 0; i < PAYMENT_COUNT; i++) {
+            entityManager.persist(new Payment(
+                    new BigDecimal(100 + i),
+                    i % 2 == 0 ? PaymentType.OUTGOING : PaymentType.INCOMING,
+                    PaymentCategory.values()[i % PaymentCategory.values().length],
+                    PaymentStatus.values()[i % PaymentStatus.values().length],
+                    base.plusMinutes(i),
+                    users[i % USER_COUNT]));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void updateIfUnchanged_OnlyAppliesAtExpectedVersionAndValues() {
+        Payment payment = paymentRepository.findAll(Sort.by("id")).get(0);
+        Long version = payment.getVersion();
+        entityManager.clear();
+
+        assertEquals(0, paymentRepository.updateIfUnchanged(payment.getId(), version + 1, payment.getAmount(),
+                payment.getPaymentType(), payment.getCategory(), payment.getStatus(),
+                BigDecimal.ONE, PaymentType.INCOMING, PaymentCategory.VENDOR, PaymentStatus.PROCESSING));
+        assertEquals(0, paymentRepository.updateIfUnchanged(payment.getId(), version,
+                payment.getAmount().add(BigDecimal.ONE), payment.getPaymentType(), payment.getCategory(),
+                payment.getStatus(), BigDecimal.ONE, PaymentType.INCOMING, PaymentCategory.VENDOR,
+                PaymentStatus.PROCESSING));
+        assertEquals(1, paymentRepository.updateIfUnchanged(payment.getId(), version, payment.getAmount(),
+                payment.getPaymentType(), payment.getCategory(), payment.getStatus(),
+                BigDecimal.ONE, PaymentType.INCOMING, PaymentCategory.VENDOR, PaymentStatus.PROCESSING));
+
+        PaymentResponse updated = paymentRepository.findResponseById(payment.getId()).orElseThrow();
+        assertEquals(version + 1, updated.getVersion());
+        assertEquals(PaymentStatus.PROCESSING, updated.getStatus());
+    }
+}
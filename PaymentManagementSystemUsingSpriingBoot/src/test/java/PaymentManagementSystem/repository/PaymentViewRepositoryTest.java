@@ -0,0 +1,147 @@
+package PaymentManagementSystem.repository;
+
+import PaymentManagementSystem.DTO.request.PaymentCursor;
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.repository.projection.PaymentCollectionVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PaymentViewRepository.class)
+class PaymentViewRepositoryTest {
+
+    private static final int PAYMENT_COUNT = 30;
+
+    @Autowired
+    private PaymentViewRepository viewRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Jane Doe", "jane.view@example.com", "password", UserRole.ADMIN));
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 9, 0);
+        for (int i = 0; i < PAYMENT_COUNT; i++) {
+            ids.add(entityManager.persistAndGetId(new Payment(
+                    new BigDecimal(100 + i),
+                    i % 2 == 0 ? PaymentType.OUTGOING : PaymentType.INCOMING,
+                    PaymentCategory.values()[i % PaymentCategory.values().length],
+                    PaymentStatus.PENDING,
+                    base.plusHours(i),
+                    user), Long.class));
+        }
+        paymentRepository.refreshView(ids);
+        entityManager.clear();
+    }
+
+    @Test
+    void refreshView_ProjectsPaymentsWithCreatorName() {
+        PaymentResponse response = viewRepository.findById(ids.get(0)).orElseThrow();
+
+        assertEquals("Jane Doe", response.getCreatedBy());
+        assertEquals(0, new BigDecimal("100").compareTo(response.getAmount()));
+        assertEquals(PaymentType.OUTGOING, response.getPaymentType());
+        assertEquals(PAYMENT_COUNT, viewRepository.findAll().size());
+    }
+
+    @Test
+    void refreshView_PicksUpUpdatesAndDeletes() {
+        Long updatedId = ids.get(1);
+        Long deletedId = ids.get(2);
+        paymentRepository.updateStatusIfVersion(updatedId, 0L, PaymentStatus.COMPLETED);
+        paymentRepository.deleteById(deletedId);
+
+        paymentRepository.refreshView(List.of(updatedId, deletedId));
+
+        PaymentResponse updated = viewRepository.findById(updatedId).orElseThrow();
+        assertEquals(PaymentStatus.COMPLETED, updated.getStatus());
+        assertEquals(1L, updated.getVersion());
+        assertFalse(viewRepository.findById(deletedId).isPresent());
+    }
+
+    @Test
+    void findPage_WalksFilteredKeysetWithoutGaps() {
+        PaymentFilter filter = new PaymentFilter();
+        filter.setPaymentType(PaymentType.OUTGOING);
+
+        List<PaymentResponse> all = new ArrayList<>();
+        PaymentCursor cursor = null;
+        List<PaymentResponse> page;
+        do {
+            page = viewRepository.findPage(filter, cursor, null, 4);
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                PaymentResponse last = page.get(page.size() - 1);
+                cursor = new PaymentCursor(last.getDate(), last.getId());
+            }
+        } while (page.size() == 4);
+
+        assertEquals(PAYMENT_COUNT / 2, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getDate().isAfter(all.get(i).getDate()));
+            assertEquals(PaymentType.OUTGOING, all.get(i).getPaymentType());
+        }
+    }
+
+    @Test
+    void findPage_EmptyCreatorListMatchesNothing() {
+        assertTrue(viewRepository.findPage(new PaymentFilter(), null, List.of(), 10).isEmpty());
+        assertEquals(PAYMENT_COUNT, viewRepository.findPage(new PaymentFilter(), null, List.of(user.getId()), 100).size());
+    }
+
+    @Test
+    void stream_MatchesTheFilter() {
+        PaymentFilter filter = new PaymentFilter();
+        filter.setMinAmount(new BigDecimal("120"));
+
+        try (Stream<PaymentResponse> rows = viewRepository.stream(filter, 4)) {
+            List<Long> streamed = rows.map(PaymentResponse::getId).toList();
+            assertEquals(ids.subList(20, PAYMENT_COUNT), streamed);
+        }
+    }
+
+    @Test
+    void bumpCollectionVersion_MovesVersionAndNeverMovesUpdatedAtBack() {
+        PaymentCollectionVersion before = viewRepository.collectionVersion();
+        LocalDateTime later = before.getUpdatedAt().plusMinutes(5);
+
+        viewRepository.bumpCollectionVersion(later);
+        viewRepository.bumpCollectionVersion(before.getUpdatedAt());
+        PaymentCollectionVersion after = viewRepository.collectionVersion();
+
+        assertEquals(before.getVersion() + 2, after.getVersion());
+        assertEquals(later, after.getUpdatedAt());
+    }
+}
@@ -0,0 +1,116 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.entity.PaymentRollupKey;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.repository.projection.PaymentAggregateRow;
+import PaymentManagementSystem.service.impl.InMemoryPaymentLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class InMemoryPaymentLedgerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private PaymentViewRepository paymentViewRepository;
+
+    private InMemoryPaymentLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(paymentViewRepository.aggregateTotals()).thenReturn(List.of(
+                new PaymentAggregateRow(null, PaymentType.INCOMING, PaymentCategory.INVOICE, PaymentStatus.PENDING,
+                        2L, new BigDecimal("150.50")),
+                new PaymentAggregateRow(null, PaymentType.OUTGOING, PaymentCategory.SALARY, PaymentStatus.COMPLETED,
+                        1L, new BigDecimal("1000.00"))));
+        ledger = new InMemoryPaymentLedger(paymentViewRepository);
+        ledger.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void totals_SumsCellsMatchingEveryGivenDimension() {
+        assertArrayEquals(new long[] {3, 115050}, ledger.totals(null, null, null));
+        assertArrayEquals(new long[] {2, 15050}, ledger.totals(PaymentType.INCOMING, null, null));
+        assertArrayEquals(new long[] {1, 100000}, ledger.totals(null, PaymentCategory.SALARY, PaymentStatus.COMPLETED));
+        assertArrayEquals(new long[] {0, 0}, ledger.totals(PaymentType.OUTGOING, PaymentCategory.INVOICE, null));
+    }
+
+    @Test
+    void apply_MovesAmountsBetweenCells() {
+        PaymentRollupKey pending = new PaymentRollupKey(DAY, PaymentType.INCOMING, PaymentCategory.INVOICE, PaymentStatus.PENDING);
+        PaymentRollupKey completed = new PaymentRollupKey(DAY, PaymentType.INCOMING, PaymentCategory.INVOICE, PaymentStatus.COMPLETED);
+
+        ledger.apply(new PaymentRollupDeltas().remove(pending, new BigDecimal("50.25")).add(completed, new BigDecimal("50.25")));
+
+        assertArrayEquals(new long[] {1, 10025}, ledger.totals(null, null, PaymentStatus.PENDING));
+        assertArrayEquals(new long[] {2, 105025}, ledger.totals(null, null, PaymentStatus.COMPLETED));
+        assertArrayEquals(new long[] {3, 115050}, ledger.totals(null, null, null));
+    }
+
+    @Test
+    void apply_WaitsForTransactionCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.apply(new PaymentRollupDeltas().add(
+                new PaymentRollupKey(DAY, PaymentType.OUTGOING, PaymentCategory.VENDOR, PaymentStatus.PENDING),
+                new BigDecimal("10.00")));
+
+        assertArrayEquals(new long[] {0, 0}, ledger.totals(null, PaymentCategory.VENDOR, null));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertArrayEquals(new long[] {1, 1000}, ledger.totals(null, PaymentCategory.VENDOR, null));
+    }
+
+    @Test
+    void apply_ConcurrentWritersLoseNoUpdates() throws Exception {
+        PaymentRollupKey key = new PaymentRollupKey(DAY, PaymentType.OUTGOING, PaymentCategory.VENDOR, PaymentStatus.PENDING);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8000; i++) {
+            executor.execute(() -> ledger.apply(new PaymentRollupDeltas().add(key, new BigDecimal("0.01"))));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertArrayEquals(new long[] {8000, 8000}, ledger.totals(null, PaymentCategory.VENDOR, null));
+    }
+
+    @Test
+    void findDrift_ReportsCellsThatDifferFromDatabaseUntilReloaded() {
+        ledger.apply(new PaymentRollupDeltas().add(
+                new PaymentRollupKey(DAY, PaymentType.OUTGOING, PaymentCategory.SALARY, PaymentStatus.COMPLETED),
+                new BigDecimal("1.00")));
+
+        List<String> drift = ledger.findDrift();
+        assertEquals(1, drift.size());
+        assertTrue(drift.get(0).startsWith("OUTGOING/SALARY/COMPLETED"));
+
+        ledger.reload();
+        assertTrue(ledger.findDrift().isEmpty());
+    }
+}
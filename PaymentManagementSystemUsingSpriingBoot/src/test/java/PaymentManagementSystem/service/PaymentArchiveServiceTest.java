@@ -0,0 +1,113 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.PaymentArchiveSegment;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.repository.PaymentArchiveSegmentRepository;
+import PaymentManagementSystem.repository.PaymentPartitionRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.service.impl.GzipFilePaymentArchiveStore;
+import PaymentManagementSystem.service.impl.PaymentArchiveServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentArchiveServiceImpl.class, GzipFilePaymentArchiveStore.class, PaymentPartitionRepository.class,
+        PaymentViewRepository.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PaymentArchiveServiceTest {
+
+    @TempDir
+    static Path archiveDir;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.payments.archive.dir", archiveDir::toString);
+    }
+
+    @Autowired
+    private PaymentArchiveService archiveService;
+
+    @Autowired
+    private PaymentArchiveStore archiveStore;
+
+    @Autowired
+    private PaymentArchiveSegmentRepository segmentRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Ids 100, 102, ... 198 archived from January 2020
+        List<PaymentResponse> rows = LongStream.range(0, 50)
+                .mapToObj(i -> new PaymentResponse(100 + 2 * i, new BigDecimal(10 + i), PaymentType.OUTGOING,
+                        PaymentCategory.SALARY, PaymentStatus.COMPLETED, LocalDateTime.of(2020, 1, 1, 9, 0).plusHours(i),
+                        "John Doe", 3L))
+                .toList();
+        PaymentArchiveSegment segment = new PaymentArchiveSegment();
+        segment.setPartitionName("payments_p202001");
+        segment.setPeriodStart(LocalDate.of(2020, 1, 1));
+        segment.setLocation(archiveStore.write("payments_p202001", rows.iterator()));
+        segment.setMinId(100L);
+        segment.setMaxId(198L);
+        segment.setRowCount(50L);
+        segment.setArchivedAt(LocalDateTime.now());
+        segmentRepository.save(segment);
+    }
+
+    @Test
+    void findArchived_ReadsPaymentBackFromSegment() {
+        Optional<PaymentResponse> payment = archiveService.findArchived(150L);
+
+        assertTrue(payment.isPresent());
+        assertEquals(new BigDecimal("35"), payment.get().getAmount());
+        assertEquals(LocalDateTime.of(2020, 1, 2, 10, 0), payment.get().getDate());
+        assertEquals("John Doe", payment.get().getCreatedBy());
+        assertEquals(3L, payment.get().getVersion());
+    }
+
+    @Test
+    void findArchived_EmptyForIdsNotInAnySegment() {
+        assertFalse(archiveService.findArchived(151L).isPresent());
+        assertFalse(archiveService.findArchived(500L).isPresent());
+    }
+
+    @Test
+    void write_StoresCompressedSegmentWithoutLeftovers() throws Exception {
+        try (var files = Files.list(archiveDir)) {
+            assertEquals(List.of(archiveDir.resolve("payments_p202001.jsonl.gz")), files.toList());
+        }
+    }
+
+    @Test
+    void archivePartition_RejectsNamesThatAreNotPartitions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> archiveService.archivePartition("payments; drop table users"));
+    }
+}
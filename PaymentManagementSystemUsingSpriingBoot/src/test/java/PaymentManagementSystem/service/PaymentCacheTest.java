@@ -0,0 +1,207 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.request.PaymentRequest;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.config.CacheConfig;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.repository.PaymentOutboxRepository;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.repository.UserRepository;
+import PaymentManagementSystem.service.impl.PaymentServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {PaymentServiceImpl.class, CacheConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class PaymentCacheTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private PaymentRepository paymentRepository;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private PaymentSummaryService paymentSummaryService;
+
+    @MockitoBean
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @MockitoBean
+    private PaymentArchiveService paymentArchiveService;
+
+    @MockitoBean
+    private PaymentViewRepository paymentViewRepository;
+
+    @MockitoBean
+    private Validator validator;
+
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private EntityManagerFactory entityManagerFactory;
+
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PAYMENTS_CACHE).clear();
+        User user = new User("John Doe", "john@example.com", "password", UserRole.ADMIN);
+        payment = new Payment(new BigDecimal("100.00"), PaymentType.OUTGOING, PaymentCategory.SALARY,
+                PaymentStatus.PENDING, LocalDateTime.now(), user);
+        payment.setId(1L);
+        when(paymentViewRepository.findById(1L)).thenReturn(Optional.of(new PaymentResponse(
+                1L, payment.getAmount(), payment.getPaymentType(), payment.getCategory(), payment.getStatus(),
+                payment.getDate(), "John Doe", 4L)));
+    }
+
+    @Test
+    void getPaymentById_ServesRepeatedLookupsFromCache() {
+        PaymentResponse first = paymentService.getPaymentById(1L);
+        PaymentResponse second = paymentService.getPaymentById(1L);
+
+        assertSame(first, second);
+        verify(paymentViewRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void updatePayment_ReplacesCachedResponse() {
+        paymentService.getPaymentById(1L);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        PaymentRequest request = new PaymentRequest();
+        request.setAmount(new BigDecimal("250.00"));
+        request.setPaymentType(PaymentType.OUTGOING);
+        request.setCategory(PaymentCategory.SALARY);
+        request.setStatus(PaymentStatus.COMPLETED);
+
+        paymentService.updatePayment(1L, request, null);
+
+        PaymentResponse cached = paymentService.getPaymentById(1L);
+        assertEquals(new BigDecimal("250.00"), cached.getAmount());
+        assertEquals(PaymentStatus.COMPLETED, cached.getStatus());
+        verify(paymentViewRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void deletePayment_EvictsCachedResponse() {
+        paymentService.getPaymentById(1L);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+
+        paymentService.deletePayment(1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.PAYMENTS_CACHE).get(1L));
+    }
+
+    @Test
+    void updatePayment_IfMatchOnCachedVersionIssuesSingleConditionalUpdate() {
+        paymentService.getPaymentById(1L);
+        when(paymentRepository.updateIfUnchanged(1L, 4L, new BigDecimal("100.00"), PaymentType.OUTGOING,
+                PaymentCategory.SALARY, PaymentStatus.PENDING, new BigDecimal("250.00"), PaymentType.OUTGOING,
+                PaymentCategory.SALARY, PaymentStatus.COMPLETED)).thenReturn(1);
+        PaymentRequest request = new PaymentRequest();
+        request.setAmount(new BigDecimal("250.00"));
+        request.setPaymentType(PaymentType.OUTGOING);
+        request.setCategory(PaymentCategory.SALARY);
+        request.setStatus(PaymentStatus.COMPLETED);
+
+        PaymentResponse updated = paymentService.updatePayment(1L, request, 4L);
+
+        assertEquals(5L, updated.getVersion());
+        assertSame(updated, paymentService.getPaymentById(1L));
+        verify(paymentRepository, never()).findById(1L);
+    }
+
+    @Test
+    void updatePayment_IfMatchOnStaleCachedSnapshotFallsBackToRow() {
+        paymentService.getPaymentById(1L);
+        payment.setVersion(4L);
+        payment.setAmount(new BigDecimal("120.00"));
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(payment));
+        when(paymentRepository.saveAndFlush(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        PaymentRequest request = new PaymentRequest();
+        request.setAmount(new BigDecimal("250.00"));
+        request.setPaymentType(PaymentType.OUTGOING);
+        request.setCategory(PaymentCategory.SALARY);
+        request.setStatus(PaymentStatus.COMPLETED);
+
+        PaymentResponse updated = paymentService.updatePayment(1L, request, 4L);
+
+        assertEquals(new BigDecimal("250.00"), updated.getAmount());
+        verify(paymentRepository).findById(1L);
+        // The rollups lose the row's real amount, not the one in the stale snapshot
+        verify(paymentSummaryService).applyDeltas(argThat(deltas -> deltas.changes().values().stream()
+                .anyMatch(delta -> delta.getAmount().compareTo(new BigDecimal("-120.00")) == 0)));
+    }
+
+    @Test
+    void updatePaymentStatus_InsideCallerTransactionPutsOnlyOnCommit() {
+        PaymentResponse cached = paymentService.getPaymentById(1L);
+        when(paymentRepository.findResponseById(1L)).thenReturn(Optional.of(cached));
+        when(paymentRepository.updateStatusIfVersion(1L, 4L, PaymentStatus.PROCESSING)).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            paymentService.updatePaymentStatus(1L, PaymentStatus.PROCESSING);
+            assertSame(cached, paymentService.getPaymentById(1L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(5L, paymentService.getPaymentById(1L).getVersion());
+    }
+
+    @Test
+    void updatePaymentStatus_RolledBackCallerTransactionLeavesCacheUntouched() {
+        PaymentResponse cached = paymentService.getPaymentById(1L);
+        when(paymentRepository.findResponseById(1L)).thenReturn(Optional.of(cached));
+        when(paymentRepository.updateStatusIfVersion(1L, 4L, PaymentStatus.PROCESSING)).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            paymentService.updatePaymentStatus(1L, PaymentStatus.PROCESSING);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertSame(cached, paymentService.getPaymentById(1L));
+    }
+}
@@ -0,0 +1,119 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.request.PaymentRequest;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.PaymentIdempotencyKey;
+import PaymentManagementSystem.entity.PaymentIdempotencyKeyId;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.exception.IdempotencyKeyMismatchException;
+import PaymentManagementSystem.repository.PaymentIdempotencyKeyRepository;
+import PaymentManagementSystem.service.impl.PaymentIdempotencyServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PaymentIdempotencyServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PaymentIdempotencyServiceTest {
+
+    private static final String USER = "john@example.com";
+
+    @Autowired
+    private PaymentIdempotencyService idempotencyService;
+
+    @Autowired
+    private PaymentIdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private PaymentService paymentService;
+
+    private PaymentRequest paymentRequest;
+
+    @BeforeEach
+    void setUp() {
+        paymentRequest = new PaymentRequest();
+        paymentRequest.setAmount(new BigDecimal("1000.00"));
+        paymentRequest.setPaymentType(PaymentType.OUTGOING);
+        paymentRequest.setCategory(PaymentCategory.SALARY);
+        paymentRequest.setStatus(PaymentStatus.PENDING);
+        when(paymentService.createPayment(any(PaymentRequest.class), eq(USER))).thenReturn(new PaymentResponse(
+                7L, new BigDecimal("1000.00"), PaymentType.OUTGOING, PaymentCategory.SALARY, PaymentStatus.PENDING,
+                LocalDateTime.of(2024, 5, 1, 12, 0), "John Doe", 0L));
+    }
+
+    @Test
+    void createPayment_ReplaysStoredResponseWithoutCreatingAgain() {
+        PaymentResponse first = idempotencyService.createPayment("key-1", paymentRequest, USER);
+        PaymentResponse fromMemory = idempotencyService.createPayment("key-1", paymentRequest, USER);
+        recentKeys().invalidateAll();
+        paymentRequest.setAmount(new BigDecimal("1000"));
+        PaymentResponse fromDatabase = idempotencyService.createPayment("key-1", paymentRequest, USER);
+
+        verify(paymentService, times(1)).createPayment(any(PaymentRequest.class), eq(USER));
+        assertEquals(7L, first.getId());
+        assertEquals(7L, fromMemory.getId());
+        assertEquals(7L, fromDatabase.getId());
+        assertEquals(first.getDate(), fromDatabase.getDate());
+        assertEquals(0, first.getAmount().compareTo(fromDatabase.getAmount()));
+        PaymentIdempotencyKey stored = keyRepository.findById(new PaymentIdempotencyKeyId(USER, "key-1")).orElseThrow();
+        assertEquals(7L, stored.getPaymentId());
+    }
+
+    @Test
+    void createPayment_SameKeyWithDifferentRequestIsRejected() {
+        idempotencyService.createPayment("key-2", paymentRequest, USER);
+        recentKeys().invalidateAll();
+        paymentRequest.setAmount(new BigDecimal("999.00"));
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> idempotencyService.createPayment("key-2", paymentRequest, USER));
+        verify(paymentService, times(1)).createPayment(any(PaymentRequest.class), eq(USER));
+    }
+
+    @Test
+    void purgeExpiredKeys_RemovesKeysPastRetention() {
+        keyRepository.reserve(USER, "old", "hash", LocalDateTime.now().minusDays(2));
+        keyRepository.reserve(USER, "recent", "hash", LocalDateTime.now().minusHours(1));
+
+        assertEquals(1, idempotencyService.purgeExpiredKeys());
+        entityManager.clear();
+        assertFalse(keyRepository.existsById(new PaymentIdempotencyKeyId(USER, "old")));
+        assertTrue(keyRepository.existsById(new PaymentIdempotencyKeyId(USER, "recent")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<PaymentIdempotencyKeyId, ?> recentKeys() {
+        return (Cache<PaymentIdempotencyKeyId, ?>) ReflectionTestUtils.getField(idempotencyService, "recentKeys");
+    }
+}
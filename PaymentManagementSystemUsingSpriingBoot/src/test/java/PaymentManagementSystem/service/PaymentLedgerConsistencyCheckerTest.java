@@ -0,0 +1,59 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.service.impl.PaymentLedgerConsistencyChecker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentLedgerConsistencyCheckerTest {
+
+    private static final String SALARY_DRIFT = "OUTGOING/SALARY/COMPLETED: ledger 2/200 cents, database 1/100 cents";
+    private static final String SALARY_DRIFT_LATER = "OUTGOING/SALARY/COMPLETED: ledger 3/300 cents, database 2/200 cents";
+    private static final String VENDOR_DRIFT = "OUTGOING/VENDOR/PENDING: ledger 1/100 cents, database 0/0 cents";
+
+    private PaymentLedger paymentLedger;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentLedgerConsistencyChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        paymentLedger = mock(PaymentLedger.class);
+        meterRegistry = new SimpleMeterRegistry();
+        checker = new PaymentLedgerConsistencyChecker(paymentLedger, meterRegistry);
+    }
+
+    @Test
+    void check_ReloadsOnlyWhenACellDriftsOnConsecutiveRuns() {
+        when(paymentLedger.findDrift()).thenReturn(List.of(SALARY_DRIFT), List.of(SALARY_DRIFT_LATER));
+
+        checker.check();
+        verify(paymentLedger, never()).reload();
+
+        checker.check();
+        // One read per scheduled run
+        verify(paymentLedger, times(2)).findDrift();
+        verify(paymentLedger).reload();
+        assertEquals(1, meterRegistry.get("payment.ledger.repairs").counter().count());
+    }
+
+    @Test
+    void check_IgnoresDriftThatClearsOrMovesBetweenRuns() {
+        when(paymentLedger.findDrift()).thenReturn(List.of(SALARY_DRIFT), List.of(), List.of(SALARY_DRIFT),
+                List.of(VENDOR_DRIFT));
+
+        for (int i = 0; i < 4; i++) {
+            checker.check();
+        }
+
+        verify(paymentLedger, never()).reload();
+    }
+}
@@ -0,0 +1,196 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.PaymentOutboxEntry;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.repository.PaymentOutboxRepository;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.UserRepository;
+import PaymentManagementSystem.service.impl.PaymentOutboxPoller;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentOutboxPollerTest {
+
+    private static final int PAYMENT_COUNT = 120;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentOutboxRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<Long, AtomicInteger> processed = new ConcurrentHashMap<>();
+    private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+    private final List<Payment> payments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(
+                new User("John Doe", "john@example.com", "password", UserRole.FINANCE_MANAGER));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAYMENT_COUNT; i++) {
+            payments.add(paymentRepository.save(new Payment(new BigDecimal(10 + i),
+                    i % 2 == 0 ? PaymentType.OUTGOING : PaymentType.INCOMING, PaymentCategory.VENDOR,
+                    PaymentStatus.PENDING, now, user)));
+        }
+        outboxRepository.saveAll(payments.stream().map(payment -> PaymentOutboxEntry.of(payment, now)).toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        paymentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void pollOnce_ConcurrentNodesProcessEachEntryOnce() throws Exception {
+        List<PaymentOutboxPoller> nodes = List.of(poller(), poller(), poller());
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (PaymentOutboxPoller node : nodes) {
+                runs.add(executor.submit(() -> {
+                    while (node.pollOnce() > 0) {
+                        // keep claiming until the outbox is drained
+                    }
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            executor.shutdown();
+            nodes.forEach(this::destroy);
+        }
+
+        assertEquals(PAYMENT_COUNT, processed.size());
+        assertTrue(processed.values().stream().allMatch(count -> count.get() == 1));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void pollOnce_FailedEntryIsReleasedWithBackoff() {
+        Long failingId = payments.get(0).getId();
+        failing.add(failingId);
+        PaymentOutboxPoller poller = poller();
+        try {
+            while (poller.pollOnce() > 0) {
+                // the failed entry is pushed into the future, so this terminates
+            }
+        } finally {
+            destroy(poller);
+        }
+
+        List<PaymentOutboxEntry> remaining = outboxRepository.findAll();
+        assertEquals(1, remaining.size());
+        PaymentOutboxEntry entry = remaining.get(0);
+        assertEquals(failingId, entry.getPaymentId());
+        assertEquals(1, entry.getAttempts());
+        assertNotNull(entry.getLastError());
+        assertNull(entry.getDeadLetteredAt());
+        assertTrue(entry.getAvailableAt().isAfter(LocalDateTime.now().plusMinutes(1)));
+        assertEquals(PAYMENT_COUNT - 1, processed.size());
+    }
+
+    @Test
+    void pollOnce_EntryOutOfAttemptsIsDeadLetteredAndNoLongerClaimed() {
+        Long failingId = payments.get(0).getId();
+        failing.add(failingId);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PaymentOutboxPoller poller = poller(Duration.ZERO, 3, registry);
+        try {
+            while (poller.pollOnce() > 0) {
+                // retries are due immediately, so this runs until the entry is dead-lettered
+            }
+            assertEquals(0, poller.pollOnce());
+        } finally {
+            destroy(poller);
+        }
+
+        PaymentOutboxEntry entry = outboxRepository.findAll().get(0);
+        assertEquals(failingId, entry.getPaymentId());
+        assertEquals(3, entry.getAttempts());
+        assertNotNull(entry.getDeadLetteredAt());
+        assertNull(entry.getClaimToken());
+        assertEquals(1, outboxRepository.countByDeadLetteredAtIsNotNull());
+        assertEquals(1, registry.get("payment.outbox.dead-lettered").counter().count());
+    }
+
+    private PaymentOutboxPoller poller() {
+        return poller(Duration.ofMinutes(2), 10, new SimpleMeterRegistry());
+    }
+
+    private PaymentOutboxPoller poller(Duration retryBackoff, int maxAttempts, SimpleMeterRegistry registry) {
+        return new PaymentOutboxPoller(outboxRepository, paymentRepository, transactionTemplate,
+                List.of(processor(PaymentType.INCOMING), processor(PaymentType.OUTGOING)),
+                2, 16, Duration.ofMinutes(5), retryBackoff, Duration.ofMinutes(10), maxAttempts, registry);
+    }
+
+    private PaymentProcessor processor(PaymentType paymentType) {
+        return new PaymentProcessor() {
+            @Override
+            public PaymentType getPaymentType() {
+                return paymentType;
+            }
+
+            @Override
+            public void process(Payment payment) {
+                if (failing.contains(payment.getId())) {
+                    throw new IllegalStateException("Bank rejected payment " + payment.getId());
+                }
+                processed.computeIfAbsent(payment.getId(), id -> new AtomicInteger()).incrementAndGet();
+            }
+        };
+    }
+
+    private void destroy(PaymentOutboxPoller poller) {
+        try {
+            poller.destroy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
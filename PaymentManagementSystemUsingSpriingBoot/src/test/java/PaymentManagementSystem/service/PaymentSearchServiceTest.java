@@ -0,0 +1,145 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.request.PaymentFilter;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
+import PaymentManagementSystem.DTO.response.PaymentResponse;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.exception.UnindexedSearchException;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.service.impl.IndexAwarePaymentQueryPlanner;
+import PaymentManagementSystem.service.impl.PaymentSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "app.payments.search.unindexed-row-limit=10")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentSearchServiceImpl.class, IndexAwarePaymentQueryPlanner.class, PaymentViewRepository.class})
+class PaymentSearchServiceTest {
+
+    private static final int PAYMENT_COUNT = 60;
+
+    @Autowired
+    private PaymentSearchService searchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        alice = entityManager.persist(
+                new User("Alice Searchable", "alice.search@example.com", "password", UserRole.FINANCE_MANAGER));
+        User bob = entityManager.persist(
+                new User("Bob Other", "bob.other@example.com", "password", UserRole.FINANCE_MANAGER));
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PAYMENT_COUNT; i++) {
+            ids.add(entityManager.persistAndGetId(new Payment(
+                    new BigDecimal(100 + i),
+                    PaymentType.OUTGOING,
+                    i % 2 == 0 ? PaymentCategory.SALARY : PaymentCategory.VENDOR,
+                    PaymentStatus.PENDING,
+                    base.plusMinutes(i),
+                    i % 3 == 0 ? alice : bob), Long.class));
+        }
+        paymentRepository.refreshView(ids);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void search_ByTextWalksCreatorPagesWithoutGapsOrRepeats() {
+        PaymentFilter filter = new PaymentFilter();
+        filter.setCategory(PaymentCategory.SALARY);
+
+        List<PaymentResponse> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<PaymentResponse> page = searchService.search(filter, "SEARCHABLE", cursor, 4);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // i % 6 == 0 for alice's salary payments
+        assertEquals(PAYMENT_COUNT / 6, all.size());
+        Set<Long> ids = new HashSet<>();
+        for (PaymentResponse response : all) {
+            assertEquals("Alice Searchable", response.getCreatedBy());
+            assertEquals(PaymentCategory.SALARY, response.getCategory());
+            assertTrue(ids.add(response.getId()));
+        }
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getDate().isAfter(all.get(i).getDate()));
+        }
+    }
+
+    @Test
+    void search_ByCreatorIdUsesCreatorFilter() {
+        PaymentFilter filter = new PaymentFilter();
+        filter.setCreatedBy(alice.getId());
+
+        CursorPageResponse<PaymentResponse> page = searchService.search(filter, null, null, 100);
+
+        assertEquals(PAYMENT_COUNT / 3, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void search_TextMatchingNoUserReturnsEmptyPage() {
+        CursorPageResponse<PaymentResponse> page = searchService.search(new PaymentFilter(), "nobody%", null, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void search_RejectsAmountOnlyScanOnLargeTable() {
+        PaymentFilter filter = new PaymentFilter();
+        filter.setMinAmount(new BigDecimal("120"));
+
+        assertThrows(UnindexedSearchException.class, () -> searchService.search(filter, null, null, 10));
+    }
+
+    @Test
+    void search_AllowsAmountBoundsBehindAnIndexedPredicate() {
+        PaymentFilter filter = new PaymentFilter();
+        filter.setCategory(PaymentCategory.VENDOR);
+        filter.setMinAmount(new BigDecimal("150"));
+
+        CursorPageResponse<PaymentResponse> page = searchService.search(filter, null, null, 100);
+
+        // odd i in [50, 60)
+        assertEquals(5, page.getItems().size());
+    }
+}
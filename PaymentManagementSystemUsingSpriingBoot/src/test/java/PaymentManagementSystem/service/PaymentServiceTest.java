@@ -1,32 +1,58 @@
 package PaymentManagementSystem.service;
 
+import PaymentManagementSystem.DTO.request.PaymentCursor;
+import PaymentManagementSystem.DTO.request.PaymentFilter;
 import PaymentManagementSystem.DTO.request.PaymentRequest;
+import PaymentManagementSystem.DTO.response.BulkPaymentResponse;
+import PaymentManagementSystem.DTO.response.CursorPageResponse;
 import PaymentManagementSystem.DTO.response.PaymentResponse;
 import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.PaymentOutboxEntry;
 import PaymentManagementSystem.entity.User;
 import PaymentManagementSystem.enums.PaymentCategory;
 import PaymentManagementSystem.enums.PaymentStatus;
 import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.ExportFormat;
 import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.exception.BulkRequestTooLargeException;
+import PaymentManagementSystem.exception.InvalidStatusTransitionException;
 import PaymentManagementSystem.exception.PaymentNotFoundException;
+import PaymentManagementSystem.exception.PaymentVersionMismatchException;
+import PaymentManagementSystem.repository.PaymentOutboxRepository;
 import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
 import PaymentManagementSystem.repository.UserRepository;
 import PaymentManagementSystem.service.impl.PaymentServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class PaymentServiceTest {
@@ -37,6 +63,27 @@ class PaymentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PaymentSummaryService paymentSummaryService;
+
+    @Mock
+    private PaymentOutboxRepository paymentOutboxRepository;
+
+    @Mock
+    private PaymentArchiveService paymentArchiveService;
+
+    @Mock
+    private PaymentViewRepository paymentViewRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
@@ -84,21 +131,18 @@ class PaymentServiceTest {
         assertEquals(PaymentCategory.SALARY, result.getCategory());
         assertEquals(PaymentStatus.PENDING, result.getStatus());
         verify(paymentRepository).save(any(Payment.class));
+        verify(paymentOutboxRepository).save(any(PaymentOutboxEntry.class));
+        verify(paymentSummaryService).applyDeltas(any(PaymentRollupDeltas.class));
     }
 
     @Test
     void getAllPayments_Success() {
         // Given
-        Payment payment2 = new Payment(
-                new BigDecimal("500.00"),
-                PaymentType.INCOMING,
-                PaymentCategory.INVOICE,
-                PaymentStatus.COMPLETED,
-                LocalDateTime.now(),
-                testUser
-        );
-        payment2.setId(2L);
-        when(paymentRepository.findAll()).thenReturn(Arrays.asList(testPayment, payment2));
+        PaymentResponse response1 = new PaymentResponse(1L, new BigDecimal("1000.00"), PaymentType.OUTGOING,
+                PaymentCategory.SALARY, PaymentStatus.PENDING, LocalDateTime.now(), "John Doe");
+        PaymentResponse response2 = new PaymentResponse(2L, new BigDecimal("500.00"), PaymentType.INCOMING,
+                PaymentCategory.INVOICE, PaymentStatus.COMPLETED, LocalDateTime.now(), "John Doe");
+        when(paymentViewRepository.findAll()).thenReturn(Arrays.asList(response1, response2));
 
         // When
         List<PaymentResponse> result = paymentService.getAllPayments();
@@ -112,9 +156,160 @@ class PaymentServiceTest {
     @Test
     void getPaymentById_NotFound_ThrowsException() {
         // Given
-        when(paymentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(paymentViewRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(PaymentNotFoundException.class, () -> paymentService.getPaymentById(1L));
     }
+
+    @Test
+    void getPaymentById_ReadsArchivedPayment() {
+        // Given
+        PaymentResponse archived = new PaymentResponse(1L, new BigDecimal("1000.00"), PaymentType.OUTGOING,
+                PaymentCategory.SALARY, PaymentStatus.COMPLETED, LocalDateTime.of(2020, 1, 15, 9, 0), "John Doe");
+        when(paymentViewRepository.findById(1L)).thenReturn(Optional.empty());
+        when(paymentArchiveService.findArchived(1L)).thenReturn(Optional.of(archived));
+
+        // When
+        PaymentResponse result = paymentService.getPaymentById(1L);
+
+        // Then
+        assertEquals(PaymentStatus.COMPLETED, result.getStatus());
+        assertEquals(LocalDateTime.of(2020, 1, 15, 9, 0), result.getDate());
+    }
+
+    @Test
+    void getPaymentsPage_ReturnsCursorWhenMoreRowsExist() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        PaymentResponse newest = new PaymentResponse(3L, new BigDecimal("30.00"), PaymentType.OUTGOING,
+                PaymentCategory.VENDOR, PaymentStatus.PENDING, now, "John Doe");
+        PaymentResponse middle = new PaymentResponse(2L, new BigDecimal("20.00"), PaymentType.OUTGOING,
+                PaymentCategory.VENDOR, PaymentStatus.PENDING, now.minusMinutes(1), "John Doe");
+        PaymentResponse oldest = new PaymentResponse(1L, new BigDecimal("10.00"), PaymentType.OUTGOING,
+                PaymentCategory.VENDOR, PaymentStatus.PENDING, now.minusMinutes(2), "John Doe");
+        when(paymentViewRepository.findPage(any(), isNull(), isNull(), eq(3))).thenReturn(Arrays.asList(newest, middle, oldest));
+
+        // When
+        CursorPageResponse<PaymentResponse> page = paymentService.getPaymentsPage(new PaymentFilter(), null, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        PaymentCursor cursor = PaymentCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(middle.getDate(), cursor.getDate());
+    }
+
+    @Test
+    void createPayments_ResolvesUserOnceAndReportsPerItemResults() {
+        // Given
+        PaymentRequest invalid = new PaymentRequest();
+        invalid.setAmount(new BigDecimal("-5.00"));
+        invalid.setPaymentType(PaymentType.OUTGOING);
+        invalid.setCategory(PaymentCategory.SALARY);
+        invalid.setStatus(PaymentStatus.PENDING);
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+        when(paymentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Payment> batch = invocation.getArgument(0);
+            long id = 100;
+            for (Payment payment : batch) {
+                payment.setId(id++);
+            }
+            return batch;
+        });
+
+        // When
+        BulkPaymentResponse result = paymentService.createPayments(
+                Arrays.asList(paymentRequest, invalid, paymentRequest), "john@example.com");
+
+        // Then
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals(100L, result.getResults().get(0).getId());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertTrue(result.getResults().get(1).getError().contains("amount"));
+        assertEquals(101L, result.getResults().get(2).getId());
+        verify(userRepository, times(1)).findByEmail("john@example.com");
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void createPayments_OverLimit_ThrowsException() {
+        ReflectionTestUtils.setField(paymentService, "maxBulkItems", 2);
+
+        assertThrows(BulkRequestTooLargeException.class, () -> paymentService.createPayments(
+                Collections.nCopies(3, paymentRequest), "john@example.com"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void exportPayments_Csv_WritesHeaderAndEscapedRows() throws Exception {
+        // Given
+        PaymentResponse row = new PaymentResponse(7L, new BigDecimal("1250.50"), PaymentType.OUTGOING,
+                PaymentCategory.VENDOR, PaymentStatus.COMPLETED, LocalDateTime.of(2024, 5, 1, 12, 0), "Doe, John");
+        when(paymentViewRepository.stream(any(), anyInt())).thenReturn(Stream.of(row));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        paymentService.exportPayments(new PaymentFilter(), ExportFormat.CSV, out);
+
+        // Then
+        assertEquals("id,amount,paymentType,category,status,date,createdBy\n"
+                + "7,1250.50,OUTGOING,VENDOR,COMPLETED,2024-05-01T12:00,\"Doe, John\"\n", out.toString());
+    }
+
+    @Test
+    void updatePayment_StaleIfMatchVersionThrows() {
+        testPayment.setVersion(5L);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+
+        assertThrows(PaymentVersionMismatchException.class,
+                () -> paymentService.updatePayment(1L, paymentRequest, 4L));
+        verify(paymentRepository, never()).saveAndFlush(any(Payment.class));
+    }
+
+    @Test
+    void updatePaymentStatus_RetriesAfterLosingRace() {
+        LocalDateTime date = LocalDateTime.of(2024, 3, 1, 10, 0);
+        when(paymentRepository.findResponseById(1L)).thenReturn(
+                Optional.of(new PaymentResponse(1L, new BigDecimal("10.00"), PaymentType.OUTGOING,
+                        PaymentCategory.SALARY, PaymentStatus.PENDING, date, "John Doe", 1L)),
+                Optional.of(new PaymentResponse(1L, new BigDecimal("12.00"), PaymentType.OUTGOING,
+                        PaymentCategory.SALARY, PaymentStatus.PENDING, date, "John Doe", 2L)));
+        when(paymentRepository.updateStatusIfVersion(1L, 1L, PaymentStatus.COMPLETED)).thenReturn(0);
+        when(paymentRepository.updateStatusIfVersion(1L, 2L, PaymentStatus.COMPLETED)).thenReturn(1);
+
+        PaymentResponse result = paymentService.updatePaymentStatus(1L, PaymentStatus.COMPLETED);
+
+        assertEquals(PaymentStatus.COMPLETED, result.getStatus());
+        assertEquals(new BigDecimal("12.00"), result.getAmount());
+        assertEquals(3L, result.getVersion());
+        verify(paymentSummaryService, times(1)).applyDeltas(any(PaymentRollupDeltas.class));
+    }
+
+    @Test
+    void updatePaymentStatus_GivesUpAfterMaxAttempts() {
+        when(paymentRepository.findResponseById(1L)).thenReturn(Optional.of(new PaymentResponse(1L,
+                new BigDecimal("10.00"), PaymentType.OUTGOING, PaymentCategory.SALARY, PaymentStatus.PENDING,
+                LocalDateTime.now(), "John Doe", 1L)));
+        when(paymentRepository.updateStatusIfVersion(anyLong(), anyLong(), any())).thenReturn(0);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> paymentService.updatePaymentStatus(1L, PaymentStatus.COMPLETED));
+        verify(paymentRepository, times(3)).updateStatusIfVersion(1L, 1L, PaymentStatus.COMPLETED);
+        verify(paymentSummaryService, never()).applyDeltas(any());
+    }
+
+    @Test
+    void updatePayment_RejectsIllegalStatusTransition() {
+        testPayment.setStatus(PaymentStatus.COMPLETED);
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> paymentService.updatePayment(1L, paymentRequest, null));
+        verify(paymentRepository, never()).saveAndFlush(any(Payment.class));
+    }
 }
@@ -0,0 +1,152 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.request.StatusTransitionRequest;
+import PaymentManagementSystem.DTO.response.PaymentSummaryGroup;
+import PaymentManagementSystem.DTO.response.PaymentSummaryResponse;
+import PaymentManagementSystem.DTO.response.StatusTransitionResponse;
+import PaymentManagementSystem.DTO.response.StatusTransitionResult;
+import PaymentManagementSystem.config.CacheConfig;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.StatusTransitionOutcome;
+import PaymentManagementSystem.enums.SummaryGroupBy;
+import PaymentManagementSystem.enums.SummarySource;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.exception.InvalidStatusTransitionException;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.service.impl.InMemoryPaymentLedger;
+import PaymentManagementSystem.service.impl.PaymentStatusServiceImpl;
+import PaymentManagementSystem.service.impl.PaymentSummaryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentStatusServiceImpl.class, PaymentSummaryServiceImpl.class, InMemoryPaymentLedger.class, PaymentViewRepository.class})
+class PaymentStatusServiceTest {
+
+    @Autowired
+    private PaymentStatusService paymentStatusService;
+
+    @Autowired
+    private PaymentSummaryService paymentSummaryService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private CacheManager cacheManager;
+
+    private final Cache paymentsCache = mock(Cache.class);
+    private final List<Payment> payments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(cacheManager.getCache(CacheConfig.PAYMENTS_CACHE)).thenReturn(paymentsCache);
+        ReflectionTestUtils.setField(paymentStatusService, "chunkSize", 4);
+
+        User user = entityManager.persist(
+                new User("John Doe", "john@example.com", "password", UserRole.FINANCE_MANAGER));
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 9, 0);
+        PaymentRollupDeltas deltas = new PaymentRollupDeltas();
+        for (int i = 0; i < 12; i++) {
+            Payment payment = entityManager.persist(new Payment(
+                    new BigDecimal(100 + i),
+                    i % 2 == 0 ? PaymentType.OUTGOING : PaymentType.INCOMING,
+                    PaymentCategory.values()[i % PaymentCategory.values().length],
+                    i < 10 ? PaymentStatus.PROCESSING : PaymentStatus.PENDING,
+                    base.plusHours(i * 5),
+                    user));
+            payments.add(payment);
+            deltas.add(payment);
+        }
+        entityManager.flush();
+        paymentSummaryService.applyDeltas(deltas);
+    }
+
+    @Test
+    void transition_MovesMatchingPaymentsAndReportsEachId() {
+        List<Long> ids = new ArrayList<>();
+        payments.forEach(payment -> ids.add(payment.getId()));
+        ids.add(ids.get(0));
+        ids.add(-1L);
+
+        StatusTransitionResponse response = paymentStatusService.transition(
+                request(PaymentStatus.PROCESSING, PaymentStatus.COMPLETED, ids));
+        entityManager.clear();
+
+        assertEquals(13, response.getRequested());
+        assertEquals(10, response.getTransitioned());
+        assertEquals(3, response.getSkipped());
+        Map<StatusTransitionOutcome, Long> outcomes = response.getResults().stream()
+                .collect(Collectors.groupingBy(StatusTransitionResult::getOutcome, Collectors.counting()));
+        assertEquals(Map.of(StatusTransitionOutcome.TRANSITIONED, 10L,
+                StatusTransitionOutcome.STATUS_MISMATCH, 2L,
+                StatusTransitionOutcome.NOT_FOUND, 1L), outcomes);
+        assertEquals(PaymentStatus.PENDING, response.getResults().get(11).getStatus());
+
+        Payment moved = paymentRepository.findById(payments.get(0).getId()).orElseThrow();
+        assertEquals(PaymentStatus.COMPLETED, moved.getStatus());
+        assertEquals(payments.get(0).getVersion() + 1, moved.getVersion());
+        verify(paymentsCache).evict(payments.get(0).getId());
+        verify(paymentsCache, never()).evict(payments.get(11).getId());
+
+        PaymentSummaryResponse rollup = paymentSummaryService.getSummary(
+                SummaryGroupBy.STATUS, null, null, SummarySource.ROLLUP);
+        PaymentSummaryResponse live = paymentSummaryService.getSummary(
+                SummaryGroupBy.STATUS, null, null, SummarySource.LIVE);
+        assertEquals(live.getGroups().stream().map(PaymentSummaryGroup::getKey).toList(),
+                rollup.getGroups().stream().map(PaymentSummaryGroup::getKey).toList());
+        for (int i = 0; i < live.getGroups().size(); i++) {
+            assertEquals(live.getGroups().get(i).getCount(), rollup.getGroups().get(i).getCount());
+            assertEquals(0, live.getGroups().get(i).getTotalAmount()
+                    .compareTo(rollup.getGroups().get(i).getTotalAmount()));
+        }
+    }
+
+    @Test
+    void transition_RejectsIllegalMove() {
+        assertThrows(InvalidStatusTransitionException.class, () -> paymentStatusService.transition(
+                request(PaymentStatus.COMPLETED, PaymentStatus.PENDING, List.of(payments.get(0).getId()))));
+    }
+
+    private static StatusTransitionRequest request(PaymentStatus from, PaymentStatus to, List<Long> ids) {
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setFrom(from);
+        request.setTo(to);
+        request.setIds(ids);
+        return request;
+    }
+}
@@ -0,0 +1,192 @@
+package PaymentManagementSystem.service;
+
+import PaymentManagementSystem.DTO.response.PaymentSummaryGroup;
+import PaymentManagementSystem.DTO.response.PaymentSummaryResponse;
+import PaymentManagementSystem.entity.Payment;
+import PaymentManagementSystem.entity.PaymentArchiveSegment;
+import PaymentManagementSystem.entity.PaymentDailyRollup;
+import PaymentManagementSystem.entity.PaymentRollupKey;
+import PaymentManagementSystem.entity.User;
+import PaymentManagementSystem.enums.PaymentCategory;
+import PaymentManagementSystem.enums.PaymentStatus;
+import PaymentManagementSystem.enums.PaymentType;
+import PaymentManagementSystem.enums.SummaryGroupBy;
+import PaymentManagementSystem.enums.SummarySource;
+import PaymentManagementSystem.enums.UserRole;
+import PaymentManagementSystem.exception.UnsupportedSummaryException;
+import PaymentManagementSystem.repository.PaymentRepository;
+import PaymentManagementSystem.repository.PaymentRollupRepository;
+import PaymentManagementSystem.repository.PaymentViewRepository;
+import PaymentManagementSystem.service.impl.InMemoryPaymentLedger;
+import PaymentManagementSystem.service.impl.PaymentSummaryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PaymentSummaryServiceImpl.class, InMemoryPaymentLedger.class, PaymentViewRepository.class})
+class PaymentSummaryServiceTest {
+
+    @Autowired
+    private PaymentSummaryService paymentSummaryService;
+
+    @Autowired
+    private PaymentRollupRepository rollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentLedger paymentLedger;
+
+    @Autowired
+    private PaymentViewRepository paymentViewRepository;
+
+    private final List<Payment> payments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(
+                new User("John Doe", "john@example.com", "password", UserRole.ADMIN));
+        LocalDateTime base = LocalDateTime.of(2024, 1, 30, 10, 0);
+        for (int i = 0; i < 60; i++) {
+            Payment payment = entityManager.persist(new Payment(
+                    new BigDecimal(10 + i),
+                    i % 3 == 0 ? PaymentType.INCOMING : PaymentType.OUTGOING,
+                    PaymentCategory.values()[i % PaymentCategory.values().length],
+                    PaymentStatus.values()[i % PaymentStatus.values().length],
+                    base.plusHours(i),
+                    user));
+            payments.add(payment);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void applyDeltas_RollupMatchesLiveGroupBy() {
+        PaymentRollupDeltas deltas = new PaymentRollupDeltas();
+        payments.forEach(deltas::add);
+        long version = paymentViewRepository.collectionVersion().getVersion();
+        paymentSummaryService.applyDeltas(deltas);
+        assertEquals(version + 1, paymentViewRepository.collectionVersion().getVersion());
+
+        for (SummaryGroupBy groupBy : SummaryGroupBy.values()) {
+            PaymentSummaryResponse rollup = paymentSummaryService.getSummary(groupBy, null, null, SummarySource.ROLLUP);
+            PaymentSummaryResponse live = paymentSummaryService.getSummary(groupBy, null, null, SummarySource.LIVE);
+            assertSameGroups(live, rollup);
+        }
+
+        PaymentSummaryResponse byMonth = paymentSummaryService.getSummary(
+                SummaryGroupBy.MONTH, null, null, SummarySource.ROLLUP);
+        assertEquals(60, byMonth.getTotalCount());
+        assertEquals(new BigDecimal("2370.00"), byMonth.getTotalAmount());
+        assertEquals(new BigDecimal("39.50"), byMonth.getAverageAmount());
+        assertEquals(List.of("2024-01", "2024-02"), byMonth.getGroups().stream().map(PaymentSummaryGroup::getKey).toList());
+    }
+
+    @Test
+    void applyDeltas_MovesAmountBetweenGroupsOnUpdateAndDelete() {
+        Payment payment = payments.get(0);
+        paymentSummaryService.applyDeltas(new PaymentRollupDeltas().add(payment));
+
+        PaymentRollupKey previousKey = PaymentRollupKey.of(payment);
+        BigDecimal previousAmount = payment.getAmount();
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setAmount(new BigDecimal("25.00"));
+        paymentSummaryService.applyDeltas(new PaymentRollupDeltas().remove(previousKey, previousAmount).add(payment));
+
+        PaymentSummaryResponse byStatus = paymentSummaryService.getSummary(
+                SummaryGroupBy.STATUS, null, null, SummarySource.ROLLUP);
+        assertEquals(1, byStatus.getGroups().size());
+        assertEquals("COMPLETED", byStatus.getGroups().get(0).getKey());
+        assertEquals(new BigDecimal("25.00"), byStatus.getTotalAmount());
+
+        paymentSummaryService.applyDeltas(new PaymentRollupDeltas().remove(payment));
+        assertEquals(0, paymentSummaryService.getSummary(
+                SummaryGroupBy.STATUS, null, null, SummarySource.ROLLUP).getTotalCount());
+    }
+
+    @Test
+    void rebuildRollups_RestoresFromPayments() {
+        int rows = paymentSummaryService.rebuildRollups().join();
+        entityManager.flush();
+
+        assertEquals(rollupRepository.count(), rows);
+        PaymentSummaryResponse rollup = paymentSummaryService.getSummary(
+                SummaryGroupBy.DAY, LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 1), SummarySource.ROLLUP);
+        PaymentSummaryResponse live = paymentSummaryService.getSummary(
+                SummaryGroupBy.DAY, LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 1), SummarySource.LIVE);
+        assertEquals(24, rollup.getTotalCount());
+        assertSameGroups(live, rollup);
+    }
+
+    @Test
+    void rebuildRollups_KeepsRollupsOfArchivedMonths() {
+        PaymentArchiveSegment segment = new PaymentArchiveSegment();
+        segment.setPartitionName("payments_2023_12");
+        segment.setPeriodStart(LocalDate.of(2023, 12, 1));
+        segment.setLocation("payments_2023_12.ndjson.gz");
+        segment.setMinId(1L);
+        segment.setMaxId(1L);
+        segment.setRowCount(1L);
+        segment.setArchivedAt(LocalDateTime.now());
+        entityManager.persist(segment);
+        entityManager.persist(new PaymentDailyRollup(new PaymentRollupKey(LocalDate.of(2023, 12, 15),
+                PaymentType.INCOMING, PaymentCategory.INVOICE, PaymentStatus.COMPLETED), 1, new BigDecimal("99.00")));
+        entityManager.flush();
+
+        int rows = paymentSummaryService.rebuildRollups().join();
+        entityManager.flush();
+
+        assertEquals(rows + 1, rollupRepository.count());
+        PaymentSummaryResponse archived = paymentSummaryService.getSummary(
+                SummaryGroupBy.MONTH, LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 31), SummarySource.ROLLUP);
+        assertEquals(new BigDecimal("99.00"), archived.getTotalAmount());
+    }
+
+    @Test
+    void getSummary_LedgerMatchesLiveGroupBy() {
+        paymentRepository.refreshView(payments.stream().map(Payment::getId).toList());
+        paymentLedger.reload();
+
+        for (SummaryGroupBy groupBy : List.of(SummaryGroupBy.PAYMENT_TYPE, SummaryGroupBy.CATEGORY, SummaryGroupBy.STATUS)) {
+            PaymentSummaryResponse ledger = paymentSummaryService.getSummary(groupBy, null, null, SummarySource.LEDGER);
+            PaymentSummaryResponse live = paymentSummaryService.getSummary(groupBy, null, null, SummarySource.LIVE);
+            assertSameGroups(live, ledger);
+            assertEquals(new BigDecimal("2370.00"), ledger.getTotalAmount());
+        }
+        assertThrows(UnsupportedSummaryException.class,
+                () -> paymentSummaryService.getSummary(SummaryGroupBy.DAY, null, null, SummarySource.LEDGER));
+    }
+
+    private static void assertSameGroups(PaymentSummaryResponse expected, PaymentSummaryResponse actual) {
+        assertEquals(expected.getTotalCount(), actual.getTotalCount());
+        assertEquals(expected.getGroups().size(), actual.getGroups().size());
+        for (int i = 0; i < expected.getGroups().size(); i++) {
+            PaymentSummaryGroup e = expected.getGroups().get(i);
+            PaymentSummaryGroup a = actual.getGroups().get(i);
+            assertEquals(e.getKey(), a.getKey());
+            assertEquals(e.getCount(), a.getCount());
+            assertEquals(0, e.getTotalAmount().compareTo(a.getTotalAmount()));
+        }
+    }
+}
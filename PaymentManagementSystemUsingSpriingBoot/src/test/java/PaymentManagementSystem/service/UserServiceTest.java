@@ -3,6 +3,7 @@ package PaymentManagementSystem.service;
 
 import PaymentManagementSystem.DTO.request.UserRequest;
 import PaymentManagementSystem.DTO.response.UserResponse;
+import PaymentManagementSystem.config.UserPrincipalCache;
 import PaymentManagementSystem.entity.User;
 import PaymentManagementSystem.enums.UserRole;
 import PaymentManagementSystem.exception.UserNotFoundException;
@@ -32,6 +33,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -68,6 +72,7 @@ class UserServiceTest {
         assertEquals("john@example.com", result.getEmail());
         assertEquals(UserRole.ADMIN, result.getRole());
         verify(userRepository).save(any(User.class));
+        verify(userPrincipalCache).invalidate("john@example.com");
     }
 
     @Test